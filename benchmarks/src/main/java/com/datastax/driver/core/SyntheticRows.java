@@ -0,0 +1,42 @@
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SyntheticRows {
+    private final ColumnDefinitions columnDefinitions;
+    private final ProtocolVersion protocolVersion;
+
+    public SyntheticRows(String keyspace, String table, List<String> names, List<DataType> types, ProtocolVersion protocolVersion) {
+        if (names.size() != types.size()) {
+            throw new IllegalArgumentException("There are " + names.size() + " names but " + types.size() + " types");
+        }
+
+        final ColumnDefinitions.Definition[] definitions = new ColumnDefinitions.Definition[names.size()];
+        for (int i = 0; i < definitions.length; i++) {
+            definitions[i] = new ColumnDefinitions.Definition(keyspace, table, names.get(i), types.get(i));
+        }
+
+        this.columnDefinitions = new ColumnDefinitions(definitions, CodecRegistry.DEFAULT_INSTANCE);
+        this.protocolVersion = protocolVersion;
+    }
+
+    public ColumnDefinitions getColumnDefinitions() {
+        return columnDefinitions;
+    }
+
+    public Row row(Object... values) {
+        if (values.length != columnDefinitions.size()) {
+            throw new IllegalArgumentException("There are " + columnDefinitions.size() + " columns but " + values.length + " values");
+        }
+
+        final List<ByteBuffer> data = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            data.add(values[i] == null ? null
+                    : CodecRegistry.DEFAULT_INSTANCE.codecFor(columnDefinitions.getType(i), values[i]).serialize(values[i], protocolVersion));
+        }
+
+        return ArrayBackedRow.fromData(columnDefinitions, null, protocolVersion, data);
+    }
+}
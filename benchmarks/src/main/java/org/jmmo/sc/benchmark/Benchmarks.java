@@ -0,0 +1,26 @@
+package org.jmmo.sc.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class Benchmarks {
+
+    public static void main(String[] args) throws Exception {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            final String version = Benchmarks.class.getPackage().getImplementationVersion();
+            options.result("jmh-result-" + (version == null ? "dev" : version) + "."
+                    + commandLineOptions.getResultFormat().orElse(ResultFormatType.JSON).toString().toLowerCase());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
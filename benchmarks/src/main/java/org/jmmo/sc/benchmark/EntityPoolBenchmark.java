@@ -0,0 +1,51 @@
+package org.jmmo.sc.benchmark;
+
+import org.jmmo.sc.EntityInfo;
+import org.jmmo.sc.EntityPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityPoolBenchmark {
+    private EntityPool entityPool;
+
+    @Setup
+    public void setup() {
+        entityPool = Players.entityPool();
+        entityPool.entityInfo(Player.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public EntityInfo<Player> lookup() {
+        return entityPool.entityInfo(Player.class);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public EntityInfo<Player> lookupConcurrent() {
+        return entityPool.entityInfo(Player.class);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public EntityInfo<Player> register() {
+        return Players.entityPool().entityInfo(Player.class);
+    }
+}
@@ -0,0 +1,60 @@
+package org.jmmo.sc.benchmark;
+
+import com.datastax.driver.core.Row;
+import org.jmmo.sc.EntityInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+    @Param({"handles", "lambda", "generated"})
+    public String mode;
+
+    private EntityInfo<Player> entityInfo;
+    private Row row;
+    private Player player;
+
+    @Setup
+    public void setup() {
+        entityInfo = Players.entityInfo(mode);
+        row = Players.row(42);
+        player = Players.player(42);
+    }
+
+    @Benchmark
+    public Player apply() {
+        return entityInfo.apply(row);
+    }
+
+    @Benchmark
+    public Object[] values() {
+        return entityInfo.values(player);
+    }
+
+    @Benchmark
+    public List<Object> keyValues() {
+        return entityInfo.keyValues(player);
+    }
+
+    @Benchmark
+    public Object[] updateValues() {
+        return entityInfo.updateValues(player);
+    }
+}
@@ -0,0 +1,103 @@
+package org.jmmo.sc.benchmark;
+
+import org.jmmo.sc.annotation.Key;
+import org.jmmo.sc.annotation.Table;
+
+import java.util.UUID;
+
+@Table("player")
+public class Player {
+    @Key(1)
+    private int region;
+    @Key(2)
+    private UUID id;
+    private String name;
+    private long score;
+    private int level;
+    private boolean active;
+    private byte[] avatar;
+    private Kind kind;
+
+    public Player() {
+    }
+
+    public Player(int region, UUID id, String name, long score, int level, boolean active, byte[] avatar, Kind kind) {
+        this.region = region;
+        this.id = id;
+        this.name = name;
+        this.score = score;
+        this.level = level;
+        this.active = active;
+        this.avatar = avatar;
+        this.kind = kind;
+    }
+
+    public int getRegion() {
+        return region;
+    }
+
+    public void setRegion(int region) {
+        this.region = region;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getScore() {
+        return score;
+    }
+
+    public void setScore(long score) {
+        this.score = score;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public byte[] getAvatar() {
+        return avatar;
+    }
+
+    public void setAvatar(byte[] avatar) {
+        this.avatar = avatar;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    public enum Kind {
+        HUMAN,
+        BOT
+    }
+}
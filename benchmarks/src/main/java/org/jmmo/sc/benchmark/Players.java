@@ -0,0 +1,91 @@
+package org.jmmo.sc.benchmark;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.SyntheticRows;
+import org.jmmo.sc.CAccessorFactory;
+import org.jmmo.sc.CFieldAccessor;
+import org.jmmo.sc.CGeneratedMapper;
+import org.jmmo.sc.EntityInfo;
+import org.jmmo.sc.EntityPool;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+public class Players {
+    public static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.NEWEST_SUPPORTED;
+
+    public static final SyntheticRows ROWS = new SyntheticRows("benchmark", "player",
+            Arrays.asList("region", "id", "name", "score", "level", "active", "avatar", "kind"),
+            Arrays.asList(DataType.cint(), DataType.uuid(), DataType.text(), DataType.bigint(), DataType.cint(), DataType.cboolean(),
+                    DataType.blob(), DataType.cint()),
+            PROTOCOL_VERSION);
+
+    private static final EntityPool DEFAULT_POOL = new EntityPool(PROTOCOL_VERSION);
+
+    public static Player player(int seed) {
+        return new Player(seed % 16, new UUID(seed, seed * 31L), "Player" + seed, seed * 1000L, seed % 100, seed % 2 == 0,
+                new byte[]{(byte) seed, (byte) (seed >> 8), 7, 42}, seed % 3 == 0 ? Player.Kind.BOT : Player.Kind.HUMAN);
+    }
+
+    public static Row row(int seed) {
+        final Player player = player(seed);
+        return ROWS.row(player.getRegion(), player.getId(), player.getName(), player.getScore(), player.getLevel(), player.isActive(),
+                ByteBuffer.wrap(player.getAvatar()), player.getKind().ordinal());
+    }
+
+    public static EntityPool entityPool() {
+        return new ReflectiveEntityPool(new EntityPool.CAccessorFactoryHandles());
+    }
+
+    public static EntityInfo<Player> entityInfo(String mode) {
+        final EntityInfo<Player> entityInfo;
+        final Class<? extends CFieldAccessor> accessorClass;
+
+        switch (mode) {
+            case "handles":
+                entityInfo = entityPool().entityInfo(Player.class);
+                accessorClass = EntityPool.CFieldAccessorHandles.class;
+                break;
+            case "lambda":
+                entityInfo = new ReflectiveEntityPool(new EntityPool.CAccessorFactoryLambda()).entityInfo(Player.class);
+                accessorClass = EntityPool.CFieldAccessorLambda.class;
+                break;
+            case "generated":
+                try {
+                    Class.forName(CGeneratedMapper.mapperName(Player.class.getName()));
+                }
+                catch (ClassNotFoundException e) {
+                    throw new IllegalStateException("Mapper of " + Player.class + " was not generated", e);
+                }
+                entityInfo = new EntityPool(PROTOCOL_VERSION).entityInfo(Player.class);
+                accessorClass = EntityPool.CFieldAccessorLambda.class;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mapping mode " + mode);
+        }
+
+        for (int i = 0; i < entityInfo.fieldsCount(); i++) {
+            final CFieldAccessor accessor = entityInfo.fieldMapper(i).getAccessor();
+            if (!accessorClass.isInstance(accessor)) {
+                throw new IllegalStateException("Mode " + mode + " expects " + accessorClass.getSimpleName() + " but field " + i + " uses " + accessor);
+            }
+        }
+
+        return entityInfo;
+    }
+
+    public static class ReflectiveEntityPool extends EntityPool {
+
+        public ReflectiveEntityPool(CAccessorFactory accessorFactory) {
+            super(PROTOCOL_VERSION, DEFAULT_POOL.getInputConverters(), DEFAULT_POOL.getOutputConverters(), accessorFactory);
+        }
+
+        @Override
+        protected <T> CGeneratedMapper<T> generatedMapper(Class<T> entityClass) {
+            return null;
+        }
+    }
+}
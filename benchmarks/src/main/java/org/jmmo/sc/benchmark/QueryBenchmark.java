@@ -0,0 +1,83 @@
+package org.jmmo.sc.benchmark;
+
+import org.jmmo.sc.EntityInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+    private EntityInfo<Player> entityInfo;
+    private Player player;
+    private List<Object> keyValues;
+    private List<Object> partitionValues;
+
+    @Setup
+    public void setup() {
+        entityInfo = Players.entityInfo("handles");
+        player = Players.player(42);
+        keyValues = entityInfo.keyValues(player);
+        partitionValues = Collections.singletonList(player.getRegion());
+    }
+
+    @Benchmark
+    public String selectAll() {
+        return entityInfo.selectQuery(Collections.emptyList()).getQueryString();
+    }
+
+    @Benchmark
+    public String selectPartition() {
+        return entityInfo.selectQuery(partitionValues).getQueryString();
+    }
+
+    @Benchmark
+    public String selectOne() {
+        return entityInfo.selectQuery(keyValues).getQueryString();
+    }
+
+    @Benchmark
+    public String insert() {
+        return entityInfo.insertQuery(player).getQueryString();
+    }
+
+    @Benchmark
+    public String insertSomeFields() {
+        return entityInfo.insertQuery(player, "name", "score").getQueryString();
+    }
+
+    @Benchmark
+    public String update() {
+        return entityInfo.updateQuery(player).getQueryString();
+    }
+
+    @Benchmark
+    public String delete() {
+        return entityInfo.deleteQuery(keyValues).getQueryString();
+    }
+
+    @Benchmark
+    public String preparedShapes() {
+        return entityInfo.selectPreparedQuery(2).getQueryString()
+                + entityInfo.insertPreparedQuery().getQueryString()
+                + entityInfo.insertPreparedQuery(Arrays.asList("name", "score")).getQueryString()
+                + entityInfo.updatePreparedQuery().getQueryString()
+                + entityInfo.deletePreparedQuery(2).getQueryString();
+    }
+}
@@ -0,0 +1,281 @@
+package org.jmmo.sc.processor;
+
+import com.datastax.driver.mapping.annotations.ClusteringColumn;
+import com.datastax.driver.mapping.annotations.PartitionKey;
+import com.datastax.driver.mapping.annotations.Transient;
+import org.jmmo.sc.CGeneratedMapper;
+import org.jmmo.sc.annotation.Column;
+import org.jmmo.sc.annotation.Creator;
+import org.jmmo.sc.annotation.Key;
+import org.jmmo.sc.annotation.Table;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@SupportedAnnotationTypes({
+        "org.jmmo.sc.annotation.Table",
+        "org.jmmo.sc.annotation.Key",
+        "com.datastax.driver.mapping.annotations.Table",
+        "com.datastax.driver.mapping.annotations.PartitionKey",
+        "com.datastax.driver.mapping.annotations.ClusteringColumn"})
+public class CMapperProcessor extends AbstractProcessor {
+    protected static final int CLUSTERING_NUMBER_OFFSET = 1000;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final Set<TypeElement> entities = new LinkedHashSet<>();
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    entities.add((TypeElement) element);
+                }
+                else if (element.getKind() == ElementKind.FIELD && element.getEnclosingElement().getKind() == ElementKind.CLASS) {
+                    entities.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+
+        for (TypeElement entity : entities) {
+            try {
+                generate(entity);
+            }
+            catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot generate mapper: " + e, entity);
+            }
+        }
+
+        return false;
+    }
+
+    protected void generate(TypeElement entity) throws IOException {
+        final String skipReason = checkEntity(entity);
+        if (skipReason != null) {
+            skip(entity, skipReason);
+            return;
+        }
+
+        final String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        final String mapperName = CGeneratedMapper.mapperName(processingEnv.getElementUtils().getBinaryName(entity).toString());
+        final String mapperSimpleName = packageName.isEmpty() ? mapperName : mapperName.substring(packageName.length() + 1);
+        final String entityName = entity.getQualifiedName().toString();
+
+        final StringBuilder body = new StringBuilder();
+        final Set<Integer> keyNumbers = new HashSet<>();
+
+        for (TypeElement type = entity; type != null; type = superclass(type)) {
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                final Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC)
+                        || modifiers.contains(Modifier.FINAL)
+                        || modifiers.contains(Modifier.TRANSIENT)
+                        || field.getAnnotation(Transient.class) != null) {
+                    continue;
+                }
+
+                final String fieldType = processingEnv.getTypeUtils().erasure(field.asType()).toString();
+                final String getter;
+                final String setter;
+                if (isAccessible(field, entity)) {
+                    getter = "entity -> entity." + field.getSimpleName();
+                    setter = "(entity, value) -> entity." + field.getSimpleName() + " = (" + fieldType + ") value";
+                }
+                else {
+                    final ExecutableElement getterMethod = beanMethod(type, field, field.asType().getKind() == TypeKind.BOOLEAN ? "is" : "get", 0);
+                    final ExecutableElement setterMethod = beanMethod(type, field, "set", 1);
+                    if (getterMethod == null || setterMethod == null || !isAccessible(getterMethod, entity) || !isAccessible(setterMethod, entity)) {
+                        skip(entity, "field " + field.getSimpleName() + " is neither accessible nor has accessible getter and setter");
+                        return;
+                    }
+
+                    getter = "entity -> entity." + getterMethod.getSimpleName() + "()";
+                    setter = "(entity, value) -> entity." + setterMethod.getSimpleName() + "((" + fieldType + ") value)";
+                }
+
+                final String column = column(field);
+                final Key keyAnnotation = field.getAnnotation(Key.class);
+                final PartitionKey partitionKeyAnnotation = field.getAnnotation(PartitionKey.class);
+                final ClusteringColumn clusteringKeyAnnotation = field.getAnnotation(ClusteringColumn.class);
+                if (keyAnnotation != null || partitionKeyAnnotation != null || clusteringKeyAnnotation != null) {
+                    final int keyNumber;
+                    if (keyAnnotation != null) {
+                        keyNumber = keyAnnotation.value();
+                    }
+                    else if (partitionKeyAnnotation != null) {
+                        keyNumber = partitionKeyAnnotation.value();
+                    }
+                    else {
+                        keyNumber = clusteringKeyAnnotation.value() + CLUSTERING_NUMBER_OFFSET;
+                    }
+
+                    if (!keyNumbers.add(keyNumber)) {
+                        skip(entity, "key number " + keyNumber + " already exists");
+                        return;
+                    }
+
+                    body.append("        key(").append(keyNumber).append(", ");
+                }
+                else {
+                    body.append("        column(");
+                }
+
+                body.append(literal(column)).append(", ").append(fieldType).append(".class,\n")
+                        .append("                ").append(getter).append(",\n")
+                        .append("                ").append(setter).append(");\n");
+            }
+        }
+
+        if (keyNumbers.isEmpty()) {
+            skip(entity, "it has no keys");
+            return;
+        }
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(mapperName, entity).openWriter()) {
+            if (!packageName.isEmpty()) {
+                writer.write("package " + packageName + ";\n\n");
+            }
+
+            writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            writer.write("public final class " + mapperSimpleName + " extends " + CGeneratedMapper.class.getName() + "<" + entityName + "> {\n\n");
+            writer.write("    public " + mapperSimpleName + "() {\n");
+            writer.write("        super(" + entityName + ".class, " + literal(table(entity)) + ");\n\n");
+            writer.write(body.toString());
+            writer.write("    }\n\n");
+            writer.write("    @Override\n");
+            writer.write("    public " + entityName + " newInstance() {\n");
+            writer.write("        return new " + entityName + "();\n");
+            writer.write("    }\n");
+            writer.write("}\n");
+        }
+    }
+
+    protected String checkEntity(TypeElement entity) {
+        if (entity.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "it is abstract";
+        }
+        if (!entity.getTypeParameters().isEmpty()) {
+            return "it is generic";
+        }
+
+        for (Element element = entity; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return "it is private";
+            }
+            if (((TypeElement) element).getNestingKind() == NestingKind.MEMBER && !element.getModifiers().contains(Modifier.STATIC)) {
+                return "it is an inner class";
+            }
+            if (((TypeElement) element).getNestingKind().isNested() && ((TypeElement) element).getNestingKind() != NestingKind.MEMBER) {
+                return "it is a local class";
+            }
+        }
+
+        for (Element element : entity.getEnclosedElements()) {
+            if (element.getAnnotation(Creator.class) != null) {
+                return "it is mapped by a creator";
+            }
+        }
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(entity.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+                return null;
+            }
+        }
+
+        return "it has no accessible no-arg constructor";
+    }
+
+    protected boolean isAccessible(Element member, TypeElement entity) {
+        return member.getModifiers().contains(Modifier.PUBLIC)
+                || !member.getModifiers().contains(Modifier.PRIVATE)
+                && processingEnv.getElementUtils().getPackageOf(member).equals(processingEnv.getElementUtils().getPackageOf(entity));
+    }
+
+    protected ExecutableElement beanMethod(TypeElement type, VariableElement field, String prefix, int parametersCount) {
+        final String fieldName = field.getSimpleName().toString();
+        final String name = prefix + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (!method.getSimpleName().contentEquals(name) || method.getModifiers().contains(Modifier.STATIC)
+                    || method.getParameters().size() != parametersCount) {
+                continue;
+            }
+
+            final TypeMirror methodType = parametersCount == 0 ? method.getReturnType() : method.getParameters().get(0).asType();
+            if (processingEnv.getTypeUtils().isSameType(methodType, field.asType())) {
+                return method;
+            }
+        }
+
+        return null;
+    }
+
+    protected TypeElement superclass(TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    protected String table(TypeElement entity) {
+        final Table tableAnnotation = entity.getAnnotation(Table.class);
+        final com.datastax.driver.mapping.annotations.Table xTableAnnotation = entity.getAnnotation(com.datastax.driver.mapping.annotations.Table.class);
+
+        if (tableAnnotation != null && !tableAnnotation.value().isEmpty()) {
+            return tableAnnotation.value();
+        }
+        else if (xTableAnnotation != null) {
+            return (xTableAnnotation.keyspace().isEmpty() ? "" : xTableAnnotation.keyspace() + ".") + xTableAnnotation.name();
+        }
+        else {
+            return entity.getSimpleName().toString().toLowerCase();
+        }
+    }
+
+    protected String column(VariableElement field) {
+        final Column columnAnnotation = field.getAnnotation(Column.class);
+        final com.datastax.driver.mapping.annotations.Column xColumnAnnotation = field.getAnnotation(com.datastax.driver.mapping.annotations.Column.class);
+
+        if (columnAnnotation != null) {
+            return columnAnnotation.value();
+        }
+        else if (xColumnAnnotation != null) {
+            return xColumnAnnotation.caseSensitive()
+                    ? '"' + xColumnAnnotation.name().replace("\"", "\"\"") + '"'
+                    : xColumnAnnotation.name().toLowerCase();
+        }
+        else {
+            return field.getSimpleName().toString().toLowerCase();
+        }
+    }
+
+    protected void skip(TypeElement entity, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "Mapper is not generated for " + entity.getQualifiedName() + " because " + reason + ", reflection will be used", entity);
+    }
+
+    protected static String literal(String value) {
+        return '"' + value.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+}
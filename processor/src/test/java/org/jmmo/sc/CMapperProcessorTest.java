@@ -0,0 +1,82 @@
+package org.jmmo.sc;
+
+import org.junit.Test;
+
+import java.util.Objects;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+public class CMapperProcessorTest {
+
+    @Test
+    public void testGeneratedMapper() throws Exception {
+        assertEquals("org.jmmo.sc.CMapperProcessorTest_Generated_CMapper", CGeneratedMapper.mapperName(Generated.class.getName()));
+        assertThat(Class.forName(CGeneratedMapper.mapperName(Generated.class.getName())).newInstance(), instanceOf(CGeneratedMapper.class));
+
+        EntityPool generatedPool = new EntityPool();
+        EntityInfo<Generated> generatedInfo = generatedPool.entityInfo(Generated.class);
+        assertEquals("generated", generatedInfo.table());
+        assertThat(generatedInfo.columns(), arrayContaining("id", "part", "\"Name\"", "amount"));
+        assertThat(generatedInfo.keys, allOf(hasEntry(0, "id"), hasEntry(1000, "part")));
+        assertThat(generatedInfo.fields.get("amount").getAccessor(), instanceOf(EntityPool.CFieldAccessorLambda.class));
+        assertThat(generatedInfo.fields.get("id"), instanceOf(PrimitiveFieldMapper.IntFieldMapper.class));
+
+        Generated generated = new Generated(1, "a", "Name", 10L);
+        assertThat(generatedInfo.values(generated), arrayContaining(1, "a", "Name", 10L));
+    }
+
+    @com.datastax.driver.mapping.annotations.Table(name = "generated")
+    static class Generated extends GeneratedBase {
+        @com.datastax.driver.mapping.annotations.PartitionKey
+        int id;
+        @com.datastax.driver.mapping.annotations.ClusteringColumn
+        String part;
+        @com.datastax.driver.mapping.annotations.Column(name = "Name", caseSensitive = true)
+        private String name;
+
+        Generated() {
+        }
+
+        Generated(int id, String part, String name, Long amount) {
+            this.id = id;
+            this.part = part;
+            this.name = name;
+            setAmount(amount);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Generated generated = (Generated) o;
+            return id == generated.id && Objects.equals(part, generated.part) && Objects.equals(name, generated.name)
+                    && Objects.equals(getAmount(), generated.getAmount());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, part, name, getAmount());
+        }
+    }
+
+    static class GeneratedBase {
+        private Long amount;
+
+        public Long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(Long amount) {
+            this.amount = amount;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TypeCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+public class BatchWriter<T> implements AutoCloseable {
+    public static final int DEFAULT_MAX_STATEMENTS = 100;
+    public static final int DEFAULT_MAX_BYTES = 5 * 1024;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    protected final Cassandra cassandra;
+    protected final EntityInfo<T> entityInfo;
+    protected final int[] partitionIndexes;
+    protected final List<TypeCodec<Object>> partitionCodecs;
+    protected final int maxStatements;
+    protected final int maxBytes;
+    protected final int maxBuffered;
+    protected final RequestLimiter inFlight;
+    protected final Map<List<Object>, Batch> batches = new LinkedHashMap<>();
+    protected final List<CompletableFuture<ResultSet>> executing = new ArrayList<>();
+    protected int buffered;
+
+    public BatchWriter(Cassandra cassandra, Class<T> entityClass) {
+        this(cassandra, entityClass, DEFAULT_MAX_STATEMENTS, DEFAULT_MAX_BYTES, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    public BatchWriter(Cassandra cassandra, Class<T> entityClass, int maxStatements, int maxBytes, int maxInFlight) {
+        if (maxStatements < 1 || maxBytes < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Batch limits should be positive but " + maxStatements + ", " + maxBytes + ", " + maxInFlight + " were specified");
+        }
+
+        this.cassandra = cassandra;
+        this.entityInfo = cassandra.getEntityPoll().entityInfo(entityClass);
+        this.partitionIndexes = cassandra.partitionColumns(entityInfo).stream().mapToInt(entityInfo::fieldIndex).toArray();
+        this.partitionCodecs = cassandra.partitionCodecs(entityInfo);
+        this.maxStatements = maxStatements;
+        this.maxBytes = maxBytes;
+        this.maxBuffered = maxStatements * maxInFlight;
+        this.inFlight = new RequestLimiter(maxInFlight);
+
+        for (int partitionIndex : partitionIndexes) {
+            if (partitionIndex < 0) {
+                throw new IllegalArgumentException("Partition key of " + entityInfo.table() + " is not mapped to " + entityClass);
+            }
+        }
+    }
+
+    public CompletableFuture<ResultSet> write(T entity) {
+        final Object[] values = entityInfo.values(entity);
+        final Object[] partitionKey = new Object[partitionIndexes.length];
+        for (int i = 0; i < partitionIndexes.length; i++) {
+            partitionKey[i] = values[partitionIndexes[i]];
+        }
+
+        final List<Object> key = Arrays.asList(partitionKey);
+        final List<Object> keyValues = entityInfo.cache() == null ? null : entityInfo.keyValues(entity);
+        final int size = estimateSize(values);
+        final CompletableFuture<ResultSet> future = new CompletableFuture<>();
+
+        final List<Batch> ready = new ArrayList<>(2);
+        synchronized (this) {
+            Batch batch = batches.get(key);
+            if (batch != null && batch.bytes + size > maxBytes) {
+                ready.add(remove(key));
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(key);
+                batches.put(key, batch);
+            }
+
+            batch.add(values, size, future, keyValues);
+            buffered++;
+
+            if (batch.values.size() >= maxStatements || batch.bytes >= maxBytes) {
+                ready.add(remove(key));
+            }
+            if (buffered >= maxBuffered) {
+                ready.addAll(removeAll());
+            }
+        }
+
+        ready.forEach(this::execute);
+
+        return future;
+    }
+
+    public CompletableFuture<Void> writeAll(Stream<T> entities) {
+        final Pending pending = new Pending();
+        entities.forEachOrdered(entity -> {
+            pending.track(write(entity));
+            awaitBacklog();
+        });
+        flush();
+        pending.done();
+
+        return pending.result;
+    }
+
+    public CompletableFuture<Void> flush() {
+        final Collection<Batch> ready;
+        synchronized (this) {
+            ready = removeAll();
+        }
+
+        ready.forEach(this::execute);
+
+        final CompletableFuture<?>[] futures;
+        synchronized (executing) {
+            futures = executing.toArray(new CompletableFuture<?>[executing.size()]);
+        }
+
+        return CompletableFuture.allOf(futures);
+    }
+
+    @Override
+    public void close() {
+        PreparedPool.get(flush());
+    }
+
+    protected Batch remove(List<Object> key) {
+        final Batch batch = batches.remove(key);
+        buffered -= batch.values.size();
+        return batch;
+    }
+
+    protected List<Batch> removeAll() {
+        final List<Batch> ready = new ArrayList<>(batches.values());
+        batches.clear();
+        buffered = 0;
+        return ready;
+    }
+
+    protected void awaitBacklog() {
+        while (inFlight.getQueued() > 0) {
+            final CompletableFuture<ResultSet> oldest;
+            synchronized (executing) {
+                oldest = executing.stream().filter(future -> !future.isDone()).findFirst().orElse(null);
+            }
+            if (oldest == null) {
+                return;
+            }
+
+            oldest.handle((rs, throwable) -> null).join();
+        }
+    }
+
+    protected CompletableFuture<Statement> statementAsync(Batch batch) {
+        final List<CompletableFuture<Statement>> statements = new ArrayList<>(batch.values.size());
+        for (Object[] values : batch.values) {
+            statements.add(cassandra.insertStatementAsync(entityInfo, values));
+        }
+
+        return CompletableFuture.allOf(statements.toArray(new CompletableFuture<?>[statements.size()])).thenApply(v -> {
+            if (statements.size() == 1) {
+                return cassandra.routed(statements.get(0).join(), partitionCodecs, batch.partitionKey);
+            }
+
+            final BatchStatement batchStatement = new BatchStatement(BatchStatement.Type.UNLOGGED);
+            statements.forEach(statement -> batchStatement.add(statement.join()));
+            return cassandra.routed(batchStatement, partitionCodecs, batch.partitionKey);
+        });
+    }
+
+    protected void execute(Batch batch) {
+        final CompletableFuture<ResultSet> completed = inFlight.execute(() -> statementAsync(batch)
+                .thenCompose(statement -> cassandra.executeAsync(entityInfo.entityClass(), statement))).whenComplete((rs, throwable) -> {
+            batch.invalidate(entityInfo.cache());
+
+            if (throwable != null) {
+                batch.futures.forEach(entityFuture -> entityFuture.completeExceptionally(throwable));
+            }
+            else {
+                batch.futures.forEach(entityFuture -> entityFuture.complete(rs));
+            }
+        });
+
+        synchronized (executing) {
+            executing.add(completed);
+        }
+        completed.whenComplete((rs, throwable) -> {
+            synchronized (executing) {
+                executing.remove(completed);
+            }
+        });
+    }
+
+    protected int estimateSize(Object[] values) {
+        int size = 0;
+
+        for (Object value : values) {
+            if (value instanceof ByteBuffer) {
+                size += ((ByteBuffer) value).remaining();
+            }
+            else if (value instanceof CharSequence) {
+                size += ((CharSequence) value).length();
+            }
+            else if (value instanceof UUID) {
+                size += 16;
+            }
+            else if (value instanceof Collection) {
+                size += ((Collection) value).size() * 8;
+            }
+            else if (value instanceof Map) {
+                size += ((Map) value).size() * 16;
+            }
+            else if (value != null) {
+                size += 8;
+            }
+        }
+
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchWriter{" +
+                "entityInfo=" + entityInfo +
+                ", maxStatements=" + maxStatements +
+                ", maxBytes=" + maxBytes +
+                ", inFlight=" + inFlight.getInFlight() +
+                ", queued=" + inFlight.getQueued() +
+                '}';
+    }
+
+    protected static class Pending {
+        protected final AtomicLong count = new AtomicLong(1);
+        protected final AtomicReference<Throwable> failure = new AtomicReference<>();
+        protected final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        protected void track(CompletableFuture<ResultSet> future) {
+            count.incrementAndGet();
+            future.whenComplete((rs, throwable) -> {
+                if (throwable != null) {
+                    failure.compareAndSet(null, throwable);
+                }
+                done();
+            });
+        }
+
+        protected void done() {
+            if (count.decrementAndGet() == 0) {
+                final Throwable throwable = failure.get();
+                if (throwable != null) {
+                    result.completeExceptionally(throwable);
+                }
+                else {
+                    result.complete(null);
+                }
+            }
+        }
+    }
+
+    protected static class Batch {
+        protected final List<Object> partitionKey;
+        protected final List<Object[]> values = new ArrayList<>();
+        protected final List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+        protected final List<List<Object>> keys = new ArrayList<>();
+        protected int bytes;
+
+        protected Batch(List<Object> partitionKey) {
+            this.partitionKey = partitionKey;
+        }
+
+        protected void add(Object[] entityValues, int size, CompletableFuture<ResultSet> future, List<Object> keyValues) {
+            values.add(entityValues);
+            futures.add(future);
+            if (keyValues != null) {
+                keys.add(keyValues);
+            }
+            bytes += size;
+        }
+
+        protected void invalidate(EntityCache cache) {
+            if (cache != null) {
+                keys.forEach(cache::invalidate);
+            }
+        }
+    }
+}
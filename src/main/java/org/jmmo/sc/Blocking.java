@@ -0,0 +1,242 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class Blocking {
+    public static final int DEFAULT_MAX_THREADS = 64;
+    public static final long DEFAULT_KEEP_ALIVE_SECONDS = 60;
+
+    private static final Executor DEFAULT_EXECUTOR = executor();
+    private static final ThreadLocal<Boolean> FORKED = new ThreadLocal<>();
+
+    protected final Cassandra cassandra;
+    protected final Executor executor;
+
+    public Blocking(Cassandra cassandra) {
+        this(cassandra, DEFAULT_EXECUTOR);
+    }
+
+    public Blocking(Cassandra cassandra, Executor executor) {
+        this.cassandra = cassandra;
+        this.executor = executor;
+    }
+
+    public Cassandra getCassandra() {
+        return cassandra;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public ResultSet execute(Statement statement) {
+        return await(cassandra.executeAsync(statement));
+    }
+
+    public <T> Optional<T> selectOne(Class<T> entityClass, Object key, Object... keys) {
+        return await(cassandra.selectOneAsync(entityClass, key, keys));
+    }
+
+    public <T> T selectOne(T entity) {
+        return await(cassandra.selectOneAsync(entity));
+    }
+
+    public <T> List<T> select(Class<T> entityClass, Object key, Object... keys) {
+        return await(cassandra.selectAsync(entityClass, key, keys));
+    }
+
+    public <T> List<T> selectAll(Class<T> entityClass) {
+        return await(cassandra.selectAllAsync(entityClass));
+    }
+
+    public <T> ResultSet insert(T entity) {
+        return await(cassandra.insertAsync(entity));
+    }
+
+    public <T> ResultSet update(T entity) {
+        return await(cassandra.updateAsync(entity));
+    }
+
+    public <T> ResultSet delete(T entity) {
+        return await(cassandra.deleteAsync(entity));
+    }
+
+    public <T> List<Optional<T>> selectEach(Class<T> entityClass, Collection<? extends List<?>> keys) {
+        final List<CompletableFuture<Optional<T>>> futures = new ArrayList<>(keys.size());
+
+        for (List<?> key : keys) {
+            if (key.isEmpty()) {
+                throw new IllegalArgumentException("Should be specified at least one key value");
+            }
+
+            futures.add(cassandra.selectOneAsync(entityClass, key.get(0), key.subList(1, key.size()).toArray()));
+        }
+
+        return join(futures);
+    }
+
+    public <T> List<T> fork(Collection<? extends Callable<T>> tasks) {
+        if (FORKED.get() != null) {
+            return forkInline(tasks);
+        }
+
+        final List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+        final List<FutureTask<Void>> runners = new ArrayList<>(tasks.size());
+        final CountDownLatch finished = new CountDownLatch(tasks.size());
+
+        for (Callable<T> task : tasks) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            final FutureTask<Void> runner = new FutureTask<>(() -> {
+                try {
+                    future.complete(task.call());
+                }
+                catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+                return null;
+            });
+            futures.add(future);
+            runners.add(runner);
+
+            try {
+                executor.execute(() -> {
+                    FORKED.set(Boolean.TRUE);
+                    try {
+                        runner.run();
+                    }
+                    finally {
+                        FORKED.remove();
+                        finished.countDown();
+                    }
+                });
+            }
+            catch (RejectedExecutionException e) {
+                future.completeExceptionally(e);
+                finished.countDown();
+            }
+        }
+
+        try {
+            return join(futures);
+        }
+        finally {
+            runners.forEach(runner -> runner.cancel(true));
+            awaitUninterruptibly(finished);
+        }
+    }
+
+    protected <T> List<T> forkInline(Collection<? extends Callable<T>> tasks) {
+        final List<T> results = new ArrayList<>(tasks.size());
+
+        for (Callable<T> task : tasks) {
+            try {
+                results.add(task.call());
+            }
+            catch (RuntimeException e) {
+                throw e;
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        return results;
+    }
+
+    protected void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    protected <T> List<T> join(List<CompletableFuture<T>> futures) {
+        final CompletableFuture<?> failed = new CompletableFuture<>();
+        for (CompletableFuture<T> future : futures) {
+            future.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    failed.completeExceptionally(throwable);
+                }
+            });
+        }
+
+        try {
+            await(CompletableFuture.anyOf(CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])), failed));
+        }
+        catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        final List<T> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+
+        return results;
+    }
+
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e) {
+            final Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new RuntimeException(cause);
+        }
+    }
+
+    private static Executor executor() {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_MAX_THREADS, DEFAULT_MAX_THREADS, DEFAULT_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new ThreadFactoryBuilder().setDaemon(true).setNameFormat("blocking-%d").build());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public String toString() {
+        return "Blocking{" +
+                "executor=" + executor +
+                '}';
+    }
+}
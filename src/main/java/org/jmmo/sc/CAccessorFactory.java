@@ -0,0 +1,8 @@
+package org.jmmo.sc;
+
+import java.lang.reflect.Field;
+
+public interface CAccessorFactory {
+
+    CFieldAccessor accessor(Field field) throws IllegalAccessException;
+}
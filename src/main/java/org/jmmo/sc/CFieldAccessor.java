@@ -0,0 +1,8 @@
+package org.jmmo.sc;
+
+public interface CFieldAccessor {
+
+    Object get(Object entity);
+
+    void set(Object entity, Object value);
+}
@@ -6,11 +6,17 @@ public class CFieldMapper {
     private final Class<?> fieldClass;
     private final MethodHandle getter;
     private final MethodHandle setter;
+    private final CFieldAccessor accessor;
 
     public CFieldMapper(Class<?> fieldClass, MethodHandle getter, MethodHandle setter) {
+        this(fieldClass, getter, setter, new EntityPool.CFieldAccessorHandles(getter, setter));
+    }
+
+    public CFieldMapper(Class<?> fieldClass, MethodHandle getter, MethodHandle setter, CFieldAccessor accessor) {
         this.fieldClass = fieldClass;
         this.getter = getter;
         this.setter = setter;
+        this.accessor = accessor;
     }
 
     public Class<?> getFieldClass() {
@@ -25,12 +31,17 @@ public class CFieldMapper {
         return setter;
     }
 
+    public CFieldAccessor getAccessor() {
+        return accessor;
+    }
+
     @Override
     public String toString() {
         return "FieldMapper{" +
                 "fieldClass=" + fieldClass.getName() +
                 ", getter=" + getter +
                 ", setter=" + setter +
+                ", accessor=" + accessor +
                 '}';
     }
 }
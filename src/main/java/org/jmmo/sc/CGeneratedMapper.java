@@ -0,0 +1,134 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.ParseUtils;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.Row;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public abstract class CGeneratedMapper<T> implements CMapper<T> {
+    public static final String SUFFIX = "_CMapper";
+
+    private static final MethodHandle FUNCTION_APPLY;
+    private static final MethodHandle BI_CONSUMER_ACCEPT;
+
+    static {
+        try {
+            FUNCTION_APPLY = MethodHandles.publicLookup().findVirtual(Function.class, "apply", MethodType.methodType(Object.class, Object.class));
+            BI_CONSUMER_ACCEPT = MethodHandles.publicLookup().findVirtual(BiConsumer.class, "accept", MethodType.methodType(void.class, Object.class, Object.class));
+        }
+        catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<T> entityClass;
+    private final String table;
+    private final Map<Integer, String> keys = new TreeMap<>();
+    private final Map<String, CFieldMapper> keyFields = new LinkedHashMap<>();
+    private final Map<String, CFieldMapper> regularFields = new LinkedHashMap<>();
+    private final Map<String, String> noQuotes2Quotes = new HashMap<>();
+    private volatile EntityInfo<T> defaultEntityInfo;
+
+    protected CGeneratedMapper(Class<T> entityClass, String table) {
+        this.entityClass = entityClass;
+        this.table = table;
+    }
+
+    public abstract T newInstance();
+
+    protected void key(int keyNumber, String column, Class<?> fieldClass, Function<T, Object> getter, BiConsumer<T, Object> setter) {
+        if (keys.containsKey(keyNumber)) {
+            throw new IllegalArgumentException("Key number " + keyNumber + " already exists in " + entityClass);
+        }
+
+        final String noQuotesColumn = ParseUtils.unDoubleQuote(column);
+        keys.put(keyNumber, noQuotesColumn);
+        keyFields.put(noQuotesColumn, fieldMapper(fieldClass, getter, setter));
+        noQuotes2Quotes.put(noQuotesColumn, column);
+    }
+
+    protected void column(String column, Class<?> fieldClass, Function<T, Object> getter, BiConsumer<T, Object> setter) {
+        final String noQuotesColumn = ParseUtils.unDoubleQuote(column);
+        regularFields.put(noQuotesColumn, fieldMapper(fieldClass, getter, setter));
+        noQuotes2Quotes.put(noQuotesColumn, column);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected CFieldMapper fieldMapper(Class<?> fieldClass, Function<T, Object> getter, BiConsumer<T, Object> setter) {
+        return PrimitiveFieldMapper.of(fieldClass, FUNCTION_APPLY.bindTo(getter), BI_CONSUMER_ACCEPT.bindTo(setter),
+                new EntityPool.CFieldAccessorLambda((Function<Object, Object>) (Function<?, ?>) getter, (BiConsumer<Object, Object>) (BiConsumer<?, ?>) setter));
+    }
+
+    public EntityInfo<T> entityInfo(ProtocolVersion protocolVersion, List<CInputConverter> inputConverters, List<COutputConverter> outputConverters) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException(entityClass + " has no keys");
+        }
+
+        final Map<String, CFieldMapper> fields = new LinkedHashMap<>(keyFields.size() + regularFields.size());
+        for (String keyColumn : keys.values()) {
+            fields.put(keyColumn, keyFields.get(keyColumn));
+        }
+        fields.putAll(regularFields);
+
+        return new EntityInfo<>(entityClass, table, fields, new TreeMap<>(keys), fields.keySet().stream().map(noQuotes2Quotes::get).collect(Collectors.toList()),
+                inputConverters, outputConverters, protocolVersion, this::newInstance);
+    }
+
+    protected EntityInfo<T> defaultEntityInfo() {
+        EntityInfo<T> entityInfo = defaultEntityInfo;
+
+        if (entityInfo == null) {
+            final EntityPool entityPool = new EntityPool();
+            entityInfo = defaultEntityInfo = entityInfo(entityPool.protocolVersion, entityPool.inputConverters, entityPool.outputConverters);
+        }
+
+        return entityInfo;
+    }
+
+    public Class<T> entityClass() {
+        return entityClass;
+    }
+
+    @Override
+    public T apply(Row row) {
+        return defaultEntityInfo().apply(row);
+    }
+
+    @Override
+    public String table() {
+        return table;
+    }
+
+    @Override
+    public String[] columns() {
+        return defaultEntityInfo().columns();
+    }
+
+    @Override
+    public Object[] values(T t) {
+        return defaultEntityInfo().values(t);
+    }
+
+    public static String mapperName(String entityBinaryName) {
+        return entityBinaryName.replace('$', '_') + SUFFIX;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{" +
+                "entityClass=" + entityClass.getName() +
+                ", table='" + table + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.DataType;
+
+import java.util.Collections;
+import java.util.function.UnaryOperator;
+
+public interface CInputResolver extends CInputConverter {
+    Object NOT_HANDLED = new Object();
+
+    UnaryOperator<Object> resolveIn(DataType rowType, Class<?> fieldClass);
+
+    @Override
+    default Iterable<Object> convertIn(DataType rowType, Object inputValue, Class<?> fieldClass) {
+        final UnaryOperator<Object> converter = resolveIn(rowType, fieldClass);
+        if (converter == null) {
+            return Collections.emptyList();
+        }
+
+        final Object value = converter.apply(inputValue);
+        return value == NOT_HANDLED ? Collections.emptyList() : Collections.singleton(value);
+    }
+}
@@ -0,0 +1,18 @@
+package org.jmmo.sc;
+
+public interface CMetrics {
+    String SELECT = "select";
+    String INSERT = "insert";
+    String UPDATE = "update";
+    String DELETE = "delete";
+    String BATCH = "batch";
+    String OTHER = "other";
+
+    void request(Class<?> entityClass, String operation, boolean async, long nanos, Throwable error);
+
+    void page(Class<?> entityClass, int rows);
+
+    void mapping(Class<?> entityClass, long nanos);
+
+    void hedge(Class<?> entityClass, boolean won);
+}
@@ -0,0 +1,21 @@
+package org.jmmo.sc;
+
+import java.util.Collections;
+import java.util.function.UnaryOperator;
+
+public interface COutputResolver extends COutputConverter {
+    Object NOT_HANDLED = CInputResolver.NOT_HANDLED;
+
+    UnaryOperator<Object> resolveOut(Class<?> fieldClass);
+
+    @Override
+    default Iterable<Object> convertOut(Class<?> fieldClass, Object outputValue) {
+        final UnaryOperator<Object> converter = resolveOut(fieldClass);
+        if (converter == null) {
+            return Collections.emptyList();
+        }
+
+        final Object value = converter.apply(outputValue);
+        return value == NOT_HANDLED ? Collections.emptyList() : Collections.singleton(value);
+    }
+}
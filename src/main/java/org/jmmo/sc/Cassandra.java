@@ -5,31 +5,79 @@ import com.datastax.driver.core.querybuilder.*;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import org.reactivestreams.Publisher;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 @SuppressWarnings("unused")
 public class Cassandra {
+    public static final int DEFAULT_SELECT_MANY_CONCURRENCY = 32;
+    public static final int DEFAULT_SCAN_CONCURRENCY = 4;
+    public static final double DEFAULT_PREFETCH_FRACTION = 0.5;
+
+    private static final String[] OPERATIONS = {CMetrics.SELECT, CMetrics.INSERT, CMetrics.UPDATE, CMetrics.DELETE};
+
     private final Session session;
     private final EntityPool entityPool;
+    private final PreparedPool preparedPool;
+    private volatile PreparedPool readPool;
+    private final RequestLimiter requestLimiter;
+    private final CMetrics metrics;
+    private final ConcurrentMap<Class<?>, RequestLimiter> entityLimiters = new ConcurrentHashMap<>();
+    private volatile double prefetchFraction = DEFAULT_PREFETCH_FRACTION;
+    private volatile RequestHedger requestHedger;
 
     public Cassandra(Session session) {
         this(session, new EntityPool());
     }
 
     public Cassandra(Session session, EntityPool entityPool) {
+        this(session, entityPool, false);
+    }
+
+    public Cassandra(Session session, EntityPool entityPool, boolean prepared) {
+        this(session, entityPool, prepared, null);
+    }
+
+    public Cassandra(Session session, EntityPool entityPool, boolean prepared, RequestLimiter requestLimiter) {
+        this(session, entityPool, prepared, requestLimiter, null);
+    }
+
+    public Cassandra(Session session, EntityPool entityPool, boolean prepared, RequestLimiter requestLimiter, CMetrics metrics) {
         this.session = session;
         this.entityPool = entityPool;
+        this.preparedPool = prepared ? new PreparedPool(session) : null;
+        this.requestLimiter = requestLimiter;
+        this.metrics = metrics;
     }
 
     public Session getSession() {
@@ -40,12 +88,66 @@ public class Cassandra {
         return entityPool;
     }
 
+    public boolean isPrepared() {
+        return preparedPool != null;
+    }
+
+    public PreparedPool getPreparedPool() {
+        return preparedPool;
+    }
+
+    public CMetrics getMetrics() {
+        return metrics;
+    }
+
+    public RequestLimiter getRequestLimiter() {
+        return requestLimiter;
+    }
+
+    public RequestLimiter getRequestLimiter(Class<?> entityClass) {
+        return entityClass == null ? requestLimiter : entityLimiters.getOrDefault(entityClass, requestLimiter);
+    }
+
+    public Cassandra limit(Class<?> entityClass, RequestLimiter entityLimiter) {
+        if (entityLimiter == null) {
+            entityLimiters.remove(entityClass);
+        }
+        else {
+            entityLimiters.put(entityClass, entityLimiter);
+        }
+
+        return this;
+    }
+
+    public double getPrefetchFraction() {
+        return prefetchFraction;
+    }
+
+    public Cassandra prefetch(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Prefetch fraction should be in [0, 1] but " + fraction + " was specified");
+        }
+
+        prefetchFraction = fraction;
+        return this;
+    }
+
+    public RequestHedger getRequestHedger() {
+        return requestHedger;
+    }
+
+    public Cassandra hedge(RequestHedger requestHedger) {
+        this.requestHedger = requestHedger;
+        return this;
+    }
+
     public Stream<Row> stream(ResultSet resultSet) {
-        return StreamSupport.stream(resultSet.spliterator(), false);
+        final RowSpliterator spliterator = new RowSpliterator(resultSet, prefetchFraction);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
     }
 
     public <T> Stream<T> stream(ResultSet resultSet, Function<Row, T> rowMapper) {
-        return StreamSupport.stream(resultSet.spliterator(), false).map(rowMapper::apply);
+        return stream(resultSet).map(rowMapper::apply);
     }
 
     public ResultSet execute(String query) {
@@ -53,38 +155,158 @@ public class Cassandra {
     }
 
     public ResultSet execute(Statement statement) {
-        return getSession().execute(statement);
+        return execute(null, statement);
+    }
+
+    public ResultSet execute(Class<?> entityClass, Statement statement) {
+        final RequestHedger hedger = hedger(statement);
+        if (hedger != null) {
+            return PreparedPool.get(hedged(hedger, entityClass, () -> measuredAsync(entityClass, statement, false)));
+        }
+
+        if (metrics == null) {
+            return getSession().execute(statement);
+        }
+
+        final long start = System.nanoTime();
+        final ResultSet resultSet;
+        try {
+            resultSet = getSession().execute(statement);
+        }
+        catch (RuntimeException e) {
+            measured(entityClass, statement, false, start, null, e);
+            throw e;
+        }
+
+        measured(entityClass, statement, false, start, resultSet, null);
+        return resultSet;
     }
 
     public CompletableFuture<ResultSet> executeAsync(Statement statement) {
-        return completableFuture(session.executeAsync(statement));
+        return executeAsync(null, requestLimiter, statement);
+    }
+
+    public CompletableFuture<ResultSet> executeAsync(Class<?> entityClass, Statement statement) {
+        return executeAsync(entityClass, getRequestLimiter(entityClass), statement);
+    }
+
+    protected CompletableFuture<ResultSet> executeAsync(Class<?> entityClass, RequestLimiter limiter, Statement statement) {
+        final RequestHedger hedger = hedger(statement);
+        if (hedger != null) {
+            return hedged(hedger, entityClass, () -> limitedAsync(entityClass, limiter, statement));
+        }
+
+        return limitedAsync(entityClass, limiter, statement);
+    }
+
+    protected RequestHedger hedger(Statement statement) {
+        final RequestHedger hedger = requestHedger;
+        return hedger != null && Boolean.TRUE.equals(statement.isIdempotent()) && CMetrics.SELECT.equals(operation(statement)) ? hedger : null;
+    }
+
+    protected CompletableFuture<ResultSet> hedged(RequestHedger hedger, Class<?> entityClass, Supplier<CompletableFuture<ResultSet>> request) {
+        if (metrics == null) {
+            return hedger.execute(request);
+        }
+
+        return hedger.execute(request, won -> metrics.hedge(entityClass, won));
+    }
+
+    protected CompletableFuture<ResultSet> limitedAsync(Class<?> entityClass, RequestLimiter limiter, Statement statement) {
+        if (limiter == null) {
+            return measuredAsync(entityClass, statement, true);
+        }
+
+        return limiter.execute(() -> measuredAsync(entityClass, statement, true));
+    }
+
+    protected CompletableFuture<ResultSet> measuredAsync(Class<?> entityClass, Statement statement, boolean async) {
+        if (metrics == null) {
+            return completableFuture(session.executeAsync(statement));
+        }
+
+        final long start = System.nanoTime();
+        return RequestLimiter.relay(completableFuture(session.executeAsync(statement)), new CompletableFuture<>(),
+                (resultSet, throwable) -> {
+                    if (!(throwable instanceof CancellationException)) {
+                        measured(entityClass, statement, async, start, resultSet, throwable);
+                    }
+                });
+    }
+
+    protected void measured(Class<?> entityClass, Statement statement, boolean async, long start, ResultSet resultSet, Throwable throwable) {
+        final String operation = operation(statement);
+        metrics.request(entityClass, operation, async, System.nanoTime() - start, throwable);
+
+        if (resultSet != null && CMetrics.SELECT.equals(operation)) {
+            metrics.page(entityClass, resultSet.getAvailableWithoutFetching());
+        }
+    }
+
+    protected <T> Function<Row, T> metered(Function<Row, T> rowMapper) {
+        if (metrics == null) {
+            return rowMapper;
+        }
+
+        final Class<?> entityClass = entityClass(rowMapper);
+        return row -> {
+            final long start = System.nanoTime();
+            try {
+                return rowMapper.apply(row);
+            }
+            finally {
+                metrics.mapping(entityClass, System.nanoTime() - start);
+            }
+        };
+    }
+
+    protected void paged(Class<?> entityClass, ResultSet resultSet) {
+        if (metrics != null) {
+            metrics.page(entityClass, resultSet.getAvailableWithoutFetching());
+        }
     }
 
     public <T> CompletableFuture<Void> collectAsync(Consumer<T> rowConsumer, ResultSet resultSet, Function<Row, T> rowMapper) {
-        Stream.generate(resultSet::one).limit(resultSet.getAvailableWithoutFetching()).map(rowMapper).forEach(rowConsumer);
+        return collectAsync(rowConsumer, resultSet, rowMapper, Pager.DIRECT_EXECUTOR);
+    }
 
-        return resultSet.getExecutionInfo().getPagingState() == null ? CompletableFuture.completedFuture(null) :
-                completableFuture(resultSet.fetchMoreResults()).thenCompose(rs -> collectAsync(rowConsumer, rs, rowMapper));
+    public <T> CompletableFuture<Void> collectAsync(Consumer<T> rowConsumer, ResultSet resultSet, Function<Row, T> rowMapper, Executor executor) {
+        return pager(rowMapper, rowConsumer, executor).collect(resultSet);
     }
 
     public <T> Stream<T> selectAll(Statement statement, Function<Row, T> rowMapper) {
-        return stream(execute(statement), rowMapper);
+        return stream(execute(entityClass(rowMapper), statement), metered(rowMapper));
     }
 
     public <T> CompletableFuture<List<T>> selectAllAsync(Statement statement, Function<Row, T> rowMapper) {
         @SuppressWarnings("MismatchedQueryAndUpdateOfCollection")
         final List<T> result = new ArrayList<>();
-        return executeAsync(statement).thenCompose(rs -> collectAsync(result::add, rs, rowMapper)).thenApply(tConsumer -> result);
+        return executeAsync(entityClass(rowMapper), statement).thenCompose(rs -> collectAsync(result::add, rs, rowMapper)).thenApply(tConsumer -> result);
     }
 
     public <T> Stream<T> selectAll(Class<T> entityClass) {
         final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
-        return selectAll(entityInfo.selectQuery(Collections.emptyList()), entityInfo);
+        return selectAll(selectStatement(entityInfo, Collections.emptyList()), entityInfo);
     }
 
     public <T> CompletableFuture<List<T>> selectAllAsync(Class<T> entityClass) {
         final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
-        return selectAllAsync(entityInfo.selectQuery(Collections.emptyList()), entityInfo);
+        return selectStatementAsync(entityInfo, Collections.emptyList()).thenCompose(statement -> selectAllAsync(statement, entityInfo));
+    }
+
+    public <T> CompletableFuture<Void> selectAllAsync(Statement statement, Function<Row, T> rowMapper, Consumer<T> rowConsumer, Executor executor) {
+        return pager(rowMapper, rowConsumer, executor).collect(executeAsync(entityClass(rowMapper), statement));
+    }
+
+    public <T> CompletableFuture<Void> selectAllAsync(Class<T> entityClass, Consumer<T> rowConsumer, Executor executor) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        return pager(entityInfo, rowConsumer, executor).collect(selectStatementAsync(entityInfo, Collections.emptyList())
+                .thenCompose(statement -> executeAsync(entityClass, statement)));
+    }
+
+    protected <T> Pager<T> pager(Function<Row, T> rowMapper, Consumer<T> rowConsumer, Executor executor) {
+        final Class<?> entityClass = entityClass(rowMapper);
+        return new Pager<>(metered(rowMapper), rowConsumer, executor, rs -> paged(entityClass, rs));
     }
 
     public <T> Stream<T> selectAll(Class<T> entityClass, Consumer<Select.Where> selectConsumer) {
@@ -103,12 +325,12 @@ public class Cassandra {
 
     public <T> Stream<T> select(Class<T> entityClass, Object key, Object... keys) {
         final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
-        return selectAll(entityInfo.selectQuery(EntityPool.prepend(key, keys)), entityInfo);
+        return selectAll(selectStatement(entityInfo, EntityPool.prepend(key, keys)), entityInfo);
     }
 
     public <T> CompletableFuture<List<T>> selectAsync(Class<T> entityClass, Object key, Object... keys) {
         final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
-        return selectAllAsync(entityInfo.selectQuery(EntityPool.prepend(key, keys)), entityInfo);
+        return selectStatementAsync(entityInfo, EntityPool.prepend(key, keys)).thenCompose(statement -> selectAllAsync(statement, entityInfo));
     }
 
     public <T> Stream<T> select(Class<T> entityClass, Consumer<Select.Where> selectConsumer, Object key, Object... keys) {
@@ -125,22 +347,284 @@ public class Cassandra {
         return selectAllAsync(where, entityInfo);
     }
 
+    public <T> Stream<T> selectAllFields(Class<T> entityClass, List<String> fields) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        return selectAll(selectStatement(entityInfo, entityInfo.projectionColumns(fields), Collections.emptyList()), entityInfo);
+    }
+
+    public <T> CompletableFuture<List<T>> selectAllFieldsAsync(Class<T> entityClass, List<String> fields) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        return selectStatementAsync(entityInfo, entityInfo.projectionColumns(fields), Collections.emptyList())
+                .thenCompose(statement -> selectAllAsync(statement, entityInfo));
+    }
+
+    public <T> Stream<T> selectFields(Class<T> entityClass, List<String> fields, Object key, Object... keys) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        return selectAll(selectStatement(entityInfo, entityInfo.projectionColumns(fields), EntityPool.prepend(key, keys)), entityInfo);
+    }
+
+    public <T> CompletableFuture<List<T>> selectFieldsAsync(Class<T> entityClass, List<String> fields, Object key, Object... keys) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        return selectStatementAsync(entityInfo, entityInfo.projectionColumns(fields), EntityPool.prepend(key, keys))
+                .thenCompose(statement -> selectAllAsync(statement, entityInfo));
+    }
+
+    public <T> Optional<T> selectOneFields(Class<T> entityClass, List<String> fields, Object key, Object... keys) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        return selectOne(selectStatement(entityInfo, entityInfo.projectionColumns(fields), EntityPool.prepend(key, keys)), entityInfo);
+    }
+
+    public <T> CompletableFuture<Optional<T>> selectOneFieldsAsync(Class<T> entityClass, List<String> fields, Object key, Object... keys) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        return selectStatementAsync(entityInfo, entityInfo.projectionColumns(fields), EntityPool.prepend(key, keys))
+                .thenCompose(statement -> selectOneAsync(statement, entityInfo));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T selectOneFields(T entity, String... fields) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
+        final Row row = execute(entityInfo.entityClass(), selectStatement(entityInfo, entityInfo.projectionColumns(fields), entityInfo.keyValues(entity))).one();
+        return row == null ? entity : entityInfo.fill(entity, row);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> selectOneFieldsAsync(T entity, String... fields) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
+        return selectStatementAsync(entityInfo, entityInfo.projectionColumns(fields), entityInfo.keyValues(entity))
+                .thenCompose(statement -> executeAsync(entityInfo.entityClass(), statement))
+                .thenApply(rs -> {
+                    final Row row = rs.one();
+                    return row == null ? entity : entityInfo.fill(entity, row);
+                });
+    }
+
+    public <T> Publisher<T> selectAllPublisher(Statement statement, Function<Row, T> rowMapper) {
+        return new RowPublisher<>(() -> executeAsync(entityClass(rowMapper), statement), metered(rowMapper), rs -> paged(entityClass(rowMapper), rs));
+    }
+
+    public <T> Publisher<T> selectAllPublisher(Class<T> entityClass) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        return new RowPublisher<>(() -> selectStatementAsync(entityInfo, Collections.emptyList()).thenCompose(statement -> executeAsync(entityClass, statement)), metered(entityInfo),
+                rs -> paged(entityClass, rs));
+    }
+
+    public <T> Publisher<T> selectAllPublisher(Class<T> entityClass, Consumer<Select.Where> selectConsumer) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        final Select.Where where = entityInfo.selectQuery(Collections.emptyList());
+        selectConsumer.accept(where);
+        return selectAllPublisher(where, entityInfo);
+    }
+
+    public <T> Publisher<T> selectPublisher(Class<T> entityClass, Object key, Object... keys) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        final List<Object> keyValues = entityInfo.checkKeyValues(EntityPool.prepend(key, keys));
+        return new RowPublisher<>(() -> selectStatementAsync(entityInfo, keyValues).thenCompose(statement -> executeAsync(entityClass, statement)), metered(entityInfo),
+                rs -> paged(entityClass, rs));
+    }
+
+    public <T> Publisher<T> selectPublisher(Class<T> entityClass, Consumer<Select.Where> selectConsumer, Object key, Object... keys) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        final Select.Where where = entityInfo.selectQuery(EntityPool.prepend(key, keys));
+        selectConsumer.accept(where);
+        return selectAllPublisher(where, entityInfo);
+    }
+
+    public List<TokenRange> tokenRanges(int splits) {
+        final List<TokenRange> ranges = new ArrayList<>();
+
+        for (TokenRange range : session.getCluster().getMetadata().getTokenRanges()) {
+            for (TokenRange unwrapped : range.unwrap()) {
+                if (!unwrapped.isEmpty()) {
+                    ranges.addAll(splits > 1 ? unwrapped.splitEvenly(splits) : Collections.singletonList(unwrapped));
+                }
+            }
+        }
+        Collections.sort(ranges);
+
+        return ranges;
+    }
+
+    public <T> Stream<T> scan(Class<T> entityClass) {
+        return scan(entityClass, tokenRanges(1));
+    }
+
+    public <T> Stream<T> scan(Class<T> entityClass, Collection<TokenRange> ranges) {
+        return scan(entityClass, ranges, DEFAULT_SCAN_CONCURRENCY);
+    }
+
+    public <T> Stream<T> scan(Class<T> entityClass, Collection<TokenRange> ranges, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency should be positive but " + concurrency + " was specified");
+        }
+
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        final List<String> partitionColumns = partitionColumns(entityInfo);
+        final Iterator<TokenRange> remaining = new ArrayList<>(ranges).iterator();
+        final Queue<CompletableFuture<ResultSet>> window = new ArrayDeque<>(concurrency);
+
+        final Iterator<ResultSet> resultSets = new Iterator<ResultSet>() {
+            @Override
+            public boolean hasNext() {
+                fill();
+                return !window.isEmpty();
+            }
+
+            @Override
+            public ResultSet next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                final CompletableFuture<ResultSet> next = window.poll();
+                fill();
+                return PreparedPool.get(next);
+            }
+
+            private void fill() {
+                while (window.size() < concurrency && remaining.hasNext()) {
+                    final TokenRange range = remaining.next();
+                    window.add(rangeStatementAsync(entityInfo, partitionColumns, range).thenCompose(statement -> executeAsync(entityClass, statement)));
+                }
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(resultSets, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .flatMap(rs -> stream(rs, metered(entityInfo)))
+                .onClose(() -> window.forEach(future -> future.cancel(true)));
+    }
+
+    public <T> CompletableFuture<Void> scanAsync(Class<T> entityClass, Consumer<T> rowConsumer, int concurrency) {
+        return scanAsync(entityClass, tokenRanges(1), concurrency, rowConsumer, range -> {});
+    }
+
+    public <T> CompletableFuture<Void> scanAsync(Class<T> entityClass, Collection<TokenRange> ranges, int concurrency,
+                                                 Consumer<T> rowConsumer, Consumer<TokenRange> rangeConsumer) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency should be positive but " + concurrency + " was specified");
+        }
+
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        final List<String> partitionColumns = partitionColumns(entityInfo);
+        final Queue<TokenRange> queue = new ConcurrentLinkedQueue<>(ranges);
+
+        final CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(concurrency, Math.max(ranges.size(), 1))];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = scanNext(entityInfo, partitionColumns, queue, rowConsumer, rangeConsumer).whenComplete((v, throwable) -> {
+                if (throwable != null) {
+                    queue.clear();
+                }
+            });
+        }
+
+        return CompletableFuture.allOf(workers);
+    }
+
+    protected <T> CompletableFuture<Void> scanNext(EntityInfo<T> entityInfo, List<String> partitionColumns, Queue<TokenRange> queue,
+                                                   Consumer<T> rowConsumer, Consumer<TokenRange> rangeConsumer) {
+        final CompletableFuture<Void> worker = new CompletableFuture<>();
+        scanNext(entityInfo, partitionColumns, queue, rowConsumer, rangeConsumer, worker);
+        return worker;
+    }
+
+    protected <T> void scanNext(EntityInfo<T> entityInfo, List<String> partitionColumns, Queue<TokenRange> queue,
+                                Consumer<T> rowConsumer, Consumer<TokenRange> rangeConsumer, CompletableFuture<Void> worker) {
+        TokenRange range;
+        while ((range = queue.poll()) != null) {
+            final TokenRange scanned = range;
+
+            final CompletableFuture<Void> future;
+            try {
+                future = rangeStatementAsync(entityInfo, partitionColumns, scanned).thenCompose(statement -> executeAsync(entityInfo.entityClass(), statement))
+                        .thenCompose(rs -> collectAsync(rowConsumer, rs, entityInfo));
+            }
+            catch (RuntimeException e) {
+                worker.completeExceptionally(e);
+                return;
+            }
+
+            if (!future.isDone()) {
+                future.whenComplete((v, throwable) -> {
+                    if (scanned(scanned, rangeConsumer, worker, throwable)) {
+                        scanNext(entityInfo, partitionColumns, queue, rowConsumer, rangeConsumer, worker);
+                    }
+                });
+                return;
+            }
+
+            Throwable throwable = null;
+            try {
+                future.join();
+            }
+            catch (CompletionException | CancellationException e) {
+                throwable = e;
+            }
+
+            if (!scanned(scanned, rangeConsumer, worker, throwable)) {
+                return;
+            }
+        }
+
+        worker.complete(null);
+    }
+
+    protected boolean scanned(TokenRange range, Consumer<TokenRange> rangeConsumer, CompletableFuture<Void> worker, Throwable throwable) {
+        if (throwable == null) {
+            try {
+                rangeConsumer.accept(range);
+                return true;
+            }
+            catch (RuntimeException e) {
+                throwable = e;
+            }
+        }
+
+        worker.completeExceptionally(throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+        return false;
+    }
+
+    protected <T> CompletableFuture<Statement> rangeStatementAsync(EntityInfo<T> entityInfo, List<String> partitionColumns, TokenRange range) {
+        final boolean bounded = range.getEnd().compareTo(range.getStart()) > 0;
+        final Object[] values = bounded ? new Object[]{range.getStart().getValue(), range.getEnd().getValue()} : new Object[]{range.getStart().getValue()};
+
+        if (preparedPool == null) {
+            return CompletableFuture.completedFuture(new SimpleStatement(entityInfo.rangeQuery(partitionColumns, bounded).getQueryString(), values).setIdempotent(true));
+        }
+
+        return preparedPool.range(entityInfo, partitionColumns, bounded).thenApply(preparedStatement -> preparedStatement.bind(values));
+    }
+
+    public List<String> partitionColumns(EntityInfo<?> entityInfo) {
+        final TableMetadata tableMetadata = tableMetadata(entityInfo);
+        if (tableMetadata == null) {
+            throw new IllegalArgumentException("There is no metadata for table " + entityInfo.table());
+        }
+
+        return tableMetadata.getPartitionKey().stream().map(column -> Metadata.quoteIfNecessary(column.getName())).collect(Collectors.toList());
+    }
+
+    protected TableMetadata tableMetadata(EntityInfo<?> entityInfo) {
+        final String table = entityInfo.table();
+        final int dotIndex = table.startsWith("\"") ? -1 : table.indexOf('.');
+        final String keyspaceName = dotIndex < 0 ? session.getLoggedKeyspace() : table.substring(0, dotIndex);
+
+        final KeyspaceMetadata keyspace = keyspaceName == null ? null : session.getCluster().getMetadata().getKeyspace(keyspaceName);
+        return keyspace == null ? null : keyspace.getTable(table.substring(dotIndex + 1));
+    }
+
     public <T> Optional<T> selectOne(Statement statement, Function<Row, T> rowMapper) {
-        return Optional.ofNullable(execute(statement).one()).map(rowMapper);
+        return Optional.ofNullable(execute(entityClass(rowMapper), statement).one()).map(metered(rowMapper));
     }
 
     public <T> CompletableFuture<Optional<T>> selectOneAsync(Statement statement, Function<Row, T> rowMapper) {
-        return executeAsync(statement).thenApply(rs -> Optional.ofNullable(rs.one()).map(rowMapper));
+        return executeAsync(entityClass(rowMapper), statement).thenApply(rs -> Optional.ofNullable(rs.one()).map(metered(rowMapper)));
     }
 
     public <T> Optional<T> selectOne(Class<T> entityClass, Object key, Object... keys) {
-        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
-        return selectOne(entityInfo.selectQuery(EntityPool.prepend(key, keys)), entityInfo);
+        return selectOneCached(entityPool.entityInfo(entityClass), EntityPool.prepend(key, keys));
     }
 
     public <T> CompletableFuture<Optional<T>> selectOneAsync(Class<T> entityClass, Object key, Object... keys) {
-        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
-        return selectOneAsync(entityInfo.selectQuery(EntityPool.prepend(key, keys)), entityInfo);
+        return selectOneCachedAsync(entityPool.entityInfo(entityClass), EntityPool.prepend(key, keys));
     }
 
     public <T> Optional<T> selectOne(Class<T> entityClass, Consumer<Select.Where> selectConsumer, Object key, Object... keys) {
@@ -160,13 +644,270 @@ public class Cassandra {
     @SuppressWarnings("unchecked")
     public <T> T selectOne(T entity) {
         final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
-        return selectOne(entityInfo.selectQuery(entity), entityInfo).orElse(entity);
+        return selectOneCached(entityInfo, entityInfo.keyValues(entity)).orElse(entity);
     }
 
     @SuppressWarnings("unchecked")
     public <T> CompletableFuture<T> selectOneAsync(T entity) {
         final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
-        return selectOneAsync(entityInfo.selectQuery(entity), entityInfo).thenApply(optional -> optional.orElse(entity));
+        return selectOneCachedAsync(entityInfo, entityInfo.keyValues(entity)).thenApply(optional -> optional.orElse(entity));
+    }
+
+    public <T> ManyResult<T> selectMany(Class<T> entityClass, Collection<? extends List<?>> keys) {
+        return PreparedPool.get(selectManyAsync(entityClass, keys));
+    }
+
+    public <T> ManyResult<T> selectMany(Class<T> entityClass, Collection<? extends List<?>> keys, int concurrency) {
+        return PreparedPool.get(selectManyAsync(entityClass, keys, concurrency));
+    }
+
+    public <T> CompletableFuture<ManyResult<T>> selectManyAsync(Class<T> entityClass, Collection<? extends List<?>> keys) {
+        return selectManyAsync(entityClass, keys, DEFAULT_SELECT_MANY_CONCURRENCY);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<ManyResult<T>> selectManyAsync(Class<T> entityClass, Collection<? extends List<?>> keys, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency should be positive but " + concurrency + " was specified");
+        }
+
+        final EntityInfo<T> entityInfo = entityPool.entityInfo(entityClass);
+        final List<List<Object>> keyValues = new ArrayList<>(keys.size());
+        for (List<?> key : keys) {
+            keyValues.add(entityInfo.checkKeyValues((List<Object>) key));
+        }
+
+        final ManyResult<T> result = new ManyResult<>(keyValues);
+        final AtomicInteger next = new AtomicInteger();
+
+        final CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(concurrency, Math.max(keyValues.size(), 1))];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = selectManyNext(entityInfo, result, next);
+        }
+
+        return CompletableFuture.allOf(workers).thenApply(v -> result);
+    }
+
+    protected <T> CompletableFuture<Void> selectManyNext(EntityInfo<T> entityInfo, ManyResult<T> result, AtomicInteger next) {
+        int index;
+        while ((index = next.getAndIncrement()) < result.size()) {
+            final int keyIndex = index;
+            final List<Object> keyValues = result.keys.get(keyIndex);
+
+            CompletableFuture<Optional<T>> future;
+            try {
+                future = selectOneCachedAsync(entityInfo, keyValues, () -> routedStatementAsync(entityInfo, keyValues));
+            }
+            catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+
+            if (!future.isDone()) {
+                return future.handle((optional, throwable) -> {
+                    selectManyDone(result, keyIndex, optional, throwable);
+                    return null;
+                }).thenCompose(v -> selectManyNext(entityInfo, result, next));
+            }
+
+            try {
+                selectManyDone(result, keyIndex, future.join(), null);
+            }
+            catch (CompletionException e) {
+                selectManyDone(result, keyIndex, null, e.getCause());
+            }
+        }
+
+        return CompletableFuture.completedFuture(null);
+    }
+
+    protected <T> void selectManyDone(ManyResult<T> result, int index, Optional<T> optional, Throwable throwable) {
+        if (throwable != null) {
+            result.failed(index, throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable);
+        }
+        else {
+            result.found(index, optional.orElse(null));
+        }
+    }
+
+    protected <T> CompletableFuture<Statement> routedStatementAsync(EntityInfo<T> entityInfo, List<Object> keyValues) {
+        return readPool().select(entityInfo, keyValues.size()).thenApply(preparedStatement -> {
+            final ColumnDefinitions variables = preparedStatement.getVariables();
+            for (int i = 0; i < keyValues.size(); i++) {
+                if (!CodecRegistry.DEFAULT_INSTANCE.codecFor(variables.getType(i)).accepts(keyValues.get(i))) {
+                    return entityInfo.selectQuery(keyValues);
+                }
+            }
+
+            return preparedStatement.bind(keyValues.toArray());
+        });
+    }
+
+    protected PreparedPool readPool() {
+        if (preparedPool != null) {
+            return preparedPool;
+        }
+
+        PreparedPool result = readPool;
+        if (result == null) {
+            result = readPool = new PreparedPool(session);
+        }
+
+        return result;
+    }
+
+    protected Statement routed(Statement statement, List<TypeCodec<Object>> partitionCodecs, List<Object> keyValues) {
+        if (preparedPool != null || partitionCodecs.isEmpty() || keyValues.size() < partitionCodecs.size()) {
+            return statement;
+        }
+
+        final ByteBuffer routingKey = routingKey(partitionCodecs, keyValues);
+        return routingKey == null ? statement : new RoutedStatement(statement, routingKey);
+    }
+
+    protected ByteBuffer routingKey(List<TypeCodec<Object>> partitionCodecs, List<Object> keyValues) {
+        final ProtocolVersion protocolVersion = session.getCluster().getConfiguration().getProtocolOptions().getProtocolVersion();
+        final ByteBuffer[] components = new ByteBuffer[partitionCodecs.size()];
+        int size = 0;
+        for (int i = 0; i < components.length; i++) {
+            if (!partitionCodecs.get(i).accepts(keyValues.get(i))) {
+                return null;
+            }
+
+            components[i] = partitionCodecs.get(i).serialize(keyValues.get(i), protocolVersion);
+            size += components[i].remaining() + 3;
+        }
+
+        if (components.length == 1) {
+            return components[0];
+        }
+
+        final ByteBuffer routingKey = ByteBuffer.allocate(size);
+        for (ByteBuffer component : components) {
+            routingKey.putShort((short) component.remaining());
+            routingKey.put(component.duplicate());
+            routingKey.put((byte) 0);
+        }
+        routingKey.flip();
+
+        return routingKey;
+    }
+
+    protected List<TypeCodec<Object>> partitionCodecs(EntityInfo<?> entityInfo) {
+        final TableMetadata tableMetadata = tableMetadata(entityInfo);
+        final List<ColumnMetadata> partitionKey = tableMetadata == null ? Collections.emptyList() : tableMetadata.getPartitionKey();
+        final List<TypeCodec<Object>> codecs = new ArrayList<>(partitionKey.size());
+
+        for (int i = 0; i < partitionKey.size(); i++) {
+            if (i >= entityInfo.keysCount() || !Metadata.quoteIfNecessary(partitionKey.get(i).getName()).equals(entityInfo.columns()[i])) {
+                return Collections.emptyList();
+            }
+
+            codecs.add(CodecRegistry.DEFAULT_INSTANCE.codecFor(partitionKey.get(i).getType()));
+        }
+
+        return codecs;
+    }
+
+    protected <T> Optional<T> selectOneCached(EntityInfo<T> entityInfo, List<Object> keyValues) {
+        final EntityCache cache = cache(entityInfo, keyValues);
+        if (cache == null) {
+            return selectOne(selectStatement(entityInfo, keyValues), entityInfo);
+        }
+
+        final List<Object> cacheKey = entityInfo.cacheKey(keyValues);
+        Row row = cache.get(cacheKey);
+        if (row == null) {
+            final long generation = cache.generation(cacheKey);
+            row = execute(entityInfo.entityClass(), selectStatement(entityInfo, keyValues)).one();
+            if (row != null) {
+                cache.put(cacheKey, row, generation);
+            }
+        }
+
+        return Optional.ofNullable(row).map(metered(entityInfo.detached()));
+    }
+
+    protected <T> CompletableFuture<Optional<T>> selectOneCachedAsync(EntityInfo<T> entityInfo, List<Object> keyValues) {
+        return selectOneCachedAsync(entityInfo, keyValues, () -> selectStatementAsync(entityInfo, keyValues));
+    }
+
+    protected <T> CompletableFuture<Optional<T>> selectOneCachedAsync(EntityInfo<T> entityInfo, List<Object> keyValues,
+                                                                     Supplier<CompletableFuture<Statement>> statementSupplier) {
+        final EntityCache cache = cache(entityInfo, keyValues);
+        if (cache == null) {
+            return statementSupplier.get().thenCompose(statement -> selectOneAsync(statement, entityInfo));
+        }
+
+        final List<Object> cacheKey = entityInfo.cacheKey(keyValues);
+        final Row cachedRow = cache.get(cacheKey);
+        if (cachedRow != null) {
+            return CompletableFuture.completedFuture(Optional.of(metered(entityInfo.detached()).apply(cachedRow)));
+        }
+
+        final long generation = cache.generation(cacheKey);
+        return statementSupplier.get().thenCompose(statement -> executeAsync(entityInfo.entityClass(), statement)).thenApply(rs -> {
+            final Row row = rs.one();
+            if (row != null) {
+                cache.put(cacheKey, row, generation);
+            }
+
+            return Optional.ofNullable(row).map(metered(entityInfo.detached()));
+        });
+    }
+
+    protected EntityCache cache(EntityInfo<?> entityInfo, List<Object> keyValues) {
+        final EntityCache cache = entityInfo.cache();
+        return cache != null && keyValues.size() == entityInfo.keysCount() ? cache : null;
+    }
+
+    protected <R> R invalidated(Object entity, Supplier<R> write) {
+        try {
+            return write.get();
+        }
+        finally {
+            invalidate(entity);
+        }
+    }
+
+    protected <R> CompletableFuture<R> invalidatedAsync(Object entity, CompletableFuture<R> future) {
+        return future.whenComplete((result, throwable) -> invalidate(entity));
+    }
+
+    protected <R> R invalidated(Class<?> entityClass, List<Object> keyValues, Supplier<R> write) {
+        try {
+            return write.get();
+        }
+        finally {
+            invalidate(entityClass, keyValues);
+        }
+    }
+
+    protected <R> CompletableFuture<R> invalidatedAsync(Class<?> entityClass, List<Object> keyValues, CompletableFuture<R> future) {
+        return future.whenComplete((result, throwable) -> invalidate(entityClass, keyValues));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> void invalidate(T entity) {
+        final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
+        if (entityInfo.cache() != null) {
+            entityInfo.cache().invalidate(entityInfo.keyValues(entity));
+        }
+    }
+
+    public void invalidate(Class<?> entityClass, List<Object> keyValues) {
+        final EntityInfo<?> entityInfo = entityPool.entityInfo(entityClass);
+        final EntityCache cache = entityInfo.cache();
+        if (cache == null) {
+            return;
+        }
+
+        if (keyValues.size() == entityInfo.keysCount()) {
+            cache.invalidate(entityInfo.cacheKey(keyValues));
+        }
+        else {
+            cache.invalidateAll();
+        }
     }
 
     public boolean isApplied(Statement statement) {
@@ -186,47 +927,55 @@ public class Cassandra {
     }
 
     public <T> ResultSet delete(Class<T> entityClass, Object key, Object... keys) {
-        return execute(entityPool.entityInfo(entityClass).deleteQuery(EntityPool.prepend(key, keys)));
+        final List<Object> keyValues = EntityPool.prepend(key, keys);
+        return invalidated(entityClass, keyValues, () -> execute(entityClass, deleteStatement(entityPool.entityInfo(entityClass), keyValues)));
     }
 
     public <T> CompletableFuture<ResultSet> deleteAsync(Class<T> entityClass, Object key, Object... keys) {
-        return executeAsync(entityPool.entityInfo(entityClass).deleteQuery(EntityPool.prepend(key, keys)));
+        final List<Object> keyValues = EntityPool.prepend(key, keys);
+        return invalidatedAsync(entityClass, keyValues,
+                deleteStatementAsync(entityPool.entityInfo(entityClass), keyValues).thenCompose(statement -> executeAsync(entityClass, statement)));
     }
 
     public <T> ResultSet delete(Class<T> entityClass, Consumer<Delete.Where> deleteConsumer, Object key, Object... keys) {
-        final Delete.Where where = entityPool.entityInfo(entityClass).deleteQuery(EntityPool.prepend(key, keys));
+        final List<Object> keyValues = EntityPool.prepend(key, keys);
+        final Delete.Where where = entityPool.entityInfo(entityClass).deleteQuery(keyValues);
         deleteConsumer.accept(where);
-        return execute(where);
+        return invalidated(entityClass, keyValues, () -> execute(entityClass, where));
     }
 
     public <T> CompletableFuture<ResultSet> deleteAsync(Class<T> entityClass, Consumer<Delete.Where> deleteConsumer, Object key, Object... keys) {
-        final Delete.Where where = entityPool.entityInfo(entityClass).deleteQuery(EntityPool.prepend(key, keys));
+        final List<Object> keyValues = EntityPool.prepend(key, keys);
+        final Delete.Where where = entityPool.entityInfo(entityClass).deleteQuery(keyValues);
         deleteConsumer.accept(where);
-        return executeAsync(where);
+        return invalidatedAsync(entityClass, keyValues, executeAsync(entityClass, where));
     }
 
     @SuppressWarnings("unchecked")
     public <T> ResultSet delete(T entity) {
-        return execute(entityPool.entityInfo((Class<T>) entity.getClass()).deleteQuery(entity));
+        final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
+        return invalidated(entity, () -> execute(entity.getClass(), deleteStatement(entityInfo, entityInfo.keyValues(entity))));
     }
 
     @SuppressWarnings("unchecked")
     public <T> CompletableFuture<ResultSet> deleteAsync(T entity) {
-        return executeAsync(entityPool.entityInfo((Class<T>) entity.getClass()).deleteQuery(entity));
+        final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
+        return invalidatedAsync(entity,
+                deleteStatementAsync(entityInfo, entityInfo.keyValues(entity)).thenCompose(statement -> executeAsync(entityInfo.entityClass(), statement)));
     }
 
     @SuppressWarnings("unchecked")
     public <T> ResultSet delete(T entity, Consumer<Delete.Where> deleteConsumer) {
         final Delete.Where where = entityPool.entityInfo((Class<T>) entity.getClass()).deleteQuery(entity);
         deleteConsumer.accept(where);
-        return execute(where);
+        return invalidated(entity, () -> execute(entity.getClass(), where));
     }
 
     @SuppressWarnings("unchecked")
     public <T> CompletableFuture<ResultSet> deleteAsync(T entity, Consumer<Delete.Where> deleteConsumer) {
         final Delete.Where where = entityPool.entityInfo((Class<T>) entity.getClass()).deleteQuery(entity);
         deleteConsumer.accept(where);
-        return executeAsync(where);
+        return invalidatedAsync(entity, executeAsync(entity.getClass(), where));
     }
 
     @SuppressWarnings("unchecked")
@@ -239,93 +988,141 @@ public class Cassandra {
     }
 
     public <T> ResultSet insert(CEntityMapper<T> entityMapper, T entity) {
-        return execute(insertQuery(entityMapper, entity));
+        return execute(entity.getClass(), insertQuery(entityMapper, entity));
     }
 
     public <T> CompletableFuture<ResultSet> insertAsync(CEntityMapper<T> entityMapper, T entity) {
-        return executeAsync(insertQuery(entityMapper, entity));
+        return executeAsync(entity.getClass(), insertQuery(entityMapper, entity));
     }
 
     public <T> ResultSet insert(CEntityMapper<T> modelMapper, T entity, Consumer<Insert> insertConsumer) {
         final Insert insert = insertQuery(modelMapper, entity);
         insertConsumer.accept(insert);
-        return execute(insert);
+        return execute(entity.getClass(), insert);
     }
 
     public <T> CompletableFuture<ResultSet> insertAsync(CEntityMapper<T> modelMapper, T entity, Consumer<Insert> insertConsumer) {
         final Insert insert = insertQuery(modelMapper, entity);
         insertConsumer.accept(insert);
-        return executeAsync(insert);
+        return executeAsync(entity.getClass(), insert);
     }
 
     public <T> Insert insertQuery(CEntityMapper<T> entityMapper, T entity) {
         return QueryBuilder.insertInto(entityMapper.table()).values(entityMapper.columns(), entityMapper.values(entity));
     }
 
+    @SuppressWarnings("unchecked")
     public <T> ResultSet insert(T entity) {
-        final Insert insert = insertQuery(entity);
-        return execute(insert);
+        return invalidated(entity, () -> execute(entity.getClass(), insertStatement(entityPool.entityInfo((Class<T>) entity.getClass()), entity)));
     }
 
+    @SuppressWarnings("unchecked")
     public <T> ResultSet insert(T entity, String... notKeyFields) {
-        final Insert insert = insertQuery(entity, notKeyFields);
-        return execute(insert);
+        final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
+        return invalidated(entity, () -> execute(entity.getClass(), insertStatement(entityInfo, entity, entityInfo.notKeyColumns(notKeyFields))));
     }
 
+    @SuppressWarnings("unchecked")
     public <T> ResultSet insert(T entity, Predicate<String> fieldFilter) {
-        final Insert insert = insertQuery(entity, fieldFilter);
-        return execute(insert);
+        final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
+        return invalidated(entity, () -> execute(entity.getClass(), insertStatement(entityInfo, entity, entityInfo.notKeyColumns(fieldFilter))));
     }
 
     public <T> ResultSet insert(T entity, Consumer<Insert> insertConsumer) {
         final Insert insert = insertQuery(entity);
         insertConsumer.accept(insert);
-        return execute(insert);
+        return invalidated(entity, () -> execute(entity.getClass(), insert));
     }
 
     public <T> ResultSet insert(T entity, Consumer<Insert> insertConsumer, String... notKeyFields) {
         final Insert insert = insertQuery(entity, notKeyFields);
         insertConsumer.accept(insert);
-        return execute(insert);
+        return invalidated(entity, () -> execute(entity.getClass(), insert));
     }
 
     public <T> ResultSet insert(T entity, Consumer<Insert> insertConsumer, Predicate<String> fieldFilter) {
         final Insert insert = insertQuery(entity, fieldFilter);
         insertConsumer.accept(insert);
-        return execute(insert);
+        return invalidated(entity, () -> execute(entity.getClass(), insert));
     }
 
+    @SuppressWarnings("unchecked")
     public <T> CompletableFuture<ResultSet> insertAsync(T entity) {
-        final Insert insert = insertQuery(entity);
-        return executeAsync(insert);
+        return invalidatedAsync(entity,
+                insertStatementAsync(entityPool.entityInfo((Class<T>) entity.getClass()), entity).thenCompose(statement -> executeAsync(entity.getClass(), statement)));
     }
 
+    @SuppressWarnings("unchecked")
     public <T> CompletableFuture<ResultSet> insertAsync(T entity, String... notKeyFields) {
-        final Insert insert = insertQuery(entity, notKeyFields);
-        return executeAsync(insert);
+        final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
+        return invalidatedAsync(entity,
+                insertStatementAsync(entityInfo, entity, entityInfo.notKeyColumns(notKeyFields)).thenCompose(statement -> executeAsync(entity.getClass(), statement)));
     }
 
+    @SuppressWarnings("unchecked")
     public <T> CompletableFuture<ResultSet> insertAsync(T entity, Predicate<String> fieldFilter) {
-        final Insert insert = insertQuery(entity, fieldFilter);
-        return executeAsync(insert);
+        final EntityInfo<T> entityInfo = entityPool.entityInfo((Class<T>) entity.getClass());
+        return invalidatedAsync(entity,
+                insertStatementAsync(entityInfo, entity, entityInfo.notKeyColumns(fieldFilter)).thenCompose(statement -> executeAsync(entity.getClass(), statement)));
     }
 
     public <T> CompletableFuture<ResultSet> insertAsync(T entity, Consumer<Insert> insertConsumer) {
         final Insert insert = insertQuery(entity);
         insertConsumer.accept(insert);
-        return executeAsync(insert);
+        return invalidatedAsync(entity, executeAsync(entity.getClass(), insert));
     }
 
     public <T> CompletableFuture<ResultSet> insertAsync(T entity, Consumer<Insert> insertConsumer, String... notKeyFields) {
         final Insert insert = insertQuery(entity, notKeyFields);
         insertConsumer.accept(insert);
-        return executeAsync(insert);
+        return invalidatedAsync(entity, executeAsync(entity.getClass(), insert));
     }
 
     public <T> CompletableFuture<ResultSet> insertAsync(T entity, Consumer<Insert> insertConsumer, Predicate<String> fieldFilter) {
         final Insert insert = insertQuery(entity, fieldFilter);
         insertConsumer.accept(insert);
-        return executeAsync(insert);
+        return invalidatedAsync(entity, executeAsync(entity.getClass(), insert));
+    }
+
+    public <T> BatchWriter<T> batchWriter(Class<T> entityClass) {
+        return new BatchWriter<>(this, entityClass);
+    }
+
+    public <T> BatchWriter<T> batchWriter(Class<T> entityClass, int maxStatements, int maxBytes, int maxInFlight) {
+        return new BatchWriter<>(this, entityClass, maxStatements, maxBytes, maxInFlight);
+    }
+
+    public <T> WriteBehind<T> writeBehind(Class<T> entityClass) {
+        return new WriteBehind<>(this, entityClass);
+    }
+
+    public <T> WriteBehind<T> writeBehind(Class<T> entityClass, int maxEntries, long flushInterval, TimeUnit unit,
+                                          BiConsumer<Collection<T>, Throwable> flushListener) {
+        return new WriteBehind<>(this, entityClass, maxEntries, flushInterval, unit, flushListener);
+    }
+
+    public Blocking blocking() {
+        return new Blocking(this);
+    }
+
+    public Blocking blocking(Executor executor) {
+        return new Blocking(this, executor);
+    }
+
+    public Exporter exporter(Exporter.Format format, boolean compressed) {
+        return new Exporter(this, format, compressed);
+    }
+
+    public Exporter exporter(Exporter.Format format, boolean compressed, int bufferSize, Consumer<Exporter.Checkpoint> pageListener) {
+        return new Exporter(this, format, compressed, bufferSize, pageListener);
+    }
+
+    public Loader loader(Exporter.Format format, boolean compressed) {
+        return new Loader(this, format, compressed);
+    }
+
+    public Loader loader(Exporter.Format format, boolean compressed, int threads, int maxInFlight, int maxRetries, Consumer<Loader.Summary> progressListener) {
+        return new Loader(this, format, compressed, threads, maxInFlight, maxRetries, progressListener);
     }
 
     @SuppressWarnings("unchecked")
@@ -343,26 +1140,37 @@ public class Cassandra {
         return entityPool.entityInfo((Class<T>) entity.getClass()).insertQuery(entity, fieldFilter);
     }
 
+    @SuppressWarnings("unchecked")
     public <T> ResultSet update(T entity, Assignment... assignments) {
+        if (assignments.length == 0) {
+            return invalidated(entity, () -> execute(entity.getClass(), updateStatement(entityPool.entityInfo((Class<T>) entity.getClass()), entity)));
+        }
+
         final Update.Where update = updateQuery(entity, assignments);
-        return execute(update);
+        return invalidated(entity, () -> execute(entity.getClass(), update));
     }
 
+    @SuppressWarnings("unchecked")
     public <T> CompletableFuture<ResultSet> updateAsync(T entity, Assignment... assignments) {
+        if (assignments.length == 0) {
+            return invalidatedAsync(entity,
+                    updateStatementAsync(entityPool.entityInfo((Class<T>) entity.getClass()), entity).thenCompose(statement -> executeAsync(entity.getClass(), statement)));
+        }
+
         final Update.Where update = updateQuery(entity, assignments);
-        return executeAsync(update);
+        return invalidatedAsync(entity, executeAsync(entity.getClass(), update));
     }
 
     public <T> ResultSet update(T entity, Consumer<Update.Where> insertConsumer, Assignment... assignments) {
         final Update.Where update = updateQuery(entity, assignments);
         insertConsumer.accept(update);
-        return execute(update);
+        return invalidated(entity, () -> execute(entity.getClass(), update));
     }
 
     public <T> CompletableFuture<ResultSet> updateAsync(T entity, Consumer<Update.Where> insertConsumer, Assignment... assignments) {
         final Update.Where update = updateQuery(entity, assignments);
         insertConsumer.accept(update);
-        return executeAsync(update);
+        return invalidatedAsync(entity, executeAsync(entity.getClass(), update));
     }
 
     @SuppressWarnings("unchecked")
@@ -370,7 +1178,143 @@ public class Cassandra {
         return entityPool.entityInfo((Class<T>) entity.getClass()).updateQuery(entity, assignments);
     }
 
+    protected <T> Statement selectStatement(EntityInfo<T> entityInfo, List<Object> keyValues) {
+        return preparedPool == null ? entityInfo.selectQuery(keyValues) : PreparedPool.get(selectStatementAsync(entityInfo, keyValues));
+    }
+
+    protected <T> CompletableFuture<Statement> selectStatementAsync(EntityInfo<T> entityInfo, List<Object> keyValues) {
+        if (preparedPool == null) {
+            return CompletableFuture.completedFuture(entityInfo.selectQuery(keyValues));
+        }
+
+        final Object[] values = entityInfo.checkKeyValues(keyValues).toArray();
+        return preparedPool.select(entityInfo, values.length).thenApply(preparedStatement -> preparedStatement.bind(values));
+    }
+
+    protected <T> Statement selectStatement(EntityInfo<T> entityInfo, List<String> projectionColumns, List<Object> keyValues) {
+        return preparedPool == null ? entityInfo.selectQuery(projectionColumns, keyValues)
+                : PreparedPool.get(selectStatementAsync(entityInfo, projectionColumns, keyValues));
+    }
+
+    protected <T> CompletableFuture<Statement> selectStatementAsync(EntityInfo<T> entityInfo, List<String> projectionColumns, List<Object> keyValues) {
+        if (preparedPool == null) {
+            return CompletableFuture.completedFuture(entityInfo.selectQuery(projectionColumns, keyValues));
+        }
+
+        final Object[] values = entityInfo.checkKeyValues(keyValues).toArray();
+        return preparedPool.select(entityInfo, projectionColumns, values.length).thenApply(preparedStatement -> preparedStatement.bind(values));
+    }
+
+    protected <T> Statement deleteStatement(EntityInfo<T> entityInfo, List<Object> keyValues) {
+        return preparedPool == null ? entityInfo.deleteQuery(keyValues) : PreparedPool.get(deleteStatementAsync(entityInfo, keyValues));
+    }
+
+    protected <T> CompletableFuture<Statement> deleteStatementAsync(EntityInfo<T> entityInfo, List<Object> keyValues) {
+        if (preparedPool == null) {
+            return CompletableFuture.completedFuture(entityInfo.deleteQuery(keyValues));
+        }
+
+        final Object[] values = entityInfo.checkKeyValues(keyValues).toArray();
+        return preparedPool.delete(entityInfo, values.length).thenApply(preparedStatement -> preparedStatement.bind(values));
+    }
+
+    protected <T> Statement insertStatement(EntityInfo<T> entityInfo, T entity) {
+        return preparedPool == null ? entityInfo.insertQuery(entity) : PreparedPool.get(insertStatementAsync(entityInfo, entity));
+    }
+
+    protected <T> CompletableFuture<Statement> insertStatementAsync(EntityInfo<T> entityInfo, T entity) {
+        if (preparedPool == null) {
+            return CompletableFuture.completedFuture(entityInfo.insertQuery(entity));
+        }
+
+        return insertStatementAsync(entityInfo, entityInfo.values(entity));
+    }
+
+    protected <T> CompletableFuture<Statement> insertStatementAsync(EntityInfo<T> entityInfo, Object[] values) {
+        if (preparedPool == null) {
+            return CompletableFuture.completedFuture(QueryBuilder.insertInto(entityInfo.table()).values(entityInfo.columns(), values));
+        }
+
+        return preparedPool.insert(entityInfo).thenApply(preparedStatement -> preparedStatement.bind(values));
+    }
+
+    protected <T> Statement insertStatement(EntityInfo<T> entityInfo, T entity, List<String> notKeyColumns) {
+        return preparedPool == null ? entityInfo.insertQuery(entity, notKeyColumns) : PreparedPool.get(insertStatementAsync(entityInfo, entity, notKeyColumns));
+    }
+
+    protected <T> CompletableFuture<Statement> insertStatementAsync(EntityInfo<T> entityInfo, T entity, List<String> notKeyColumns) {
+        if (preparedPool == null) {
+            return CompletableFuture.completedFuture(entityInfo.insertQuery(entity, notKeyColumns));
+        }
+
+        final Object[] values = entityInfo.insertValues(entity, notKeyColumns);
+        return preparedPool.insert(entityInfo, notKeyColumns).thenApply(preparedStatement -> preparedStatement.bind(values));
+    }
+
+    protected <T> Statement updateStatement(EntityInfo<T> entityInfo, T entity) {
+        return preparedPool == null ? entityInfo.updateQuery(entity) : PreparedPool.get(updateStatementAsync(entityInfo, entity));
+    }
+
+    protected <T> CompletableFuture<Statement> updateStatementAsync(EntityInfo<T> entityInfo, T entity) {
+        if (preparedPool == null) {
+            return CompletableFuture.completedFuture(entityInfo.updateQuery(entity));
+        }
+
+        final Object[] values = entityInfo.updateValues(entity);
+        return preparedPool.update(entityInfo).thenApply(preparedStatement -> preparedStatement.bind(values));
+    }
+
+    protected static String operation(Statement statement) {
+        if (statement instanceof RoutedStatement) {
+            return operation(((RoutedStatement) statement).getStatement());
+        }
+        if (statement instanceof BatchStatement) {
+            return CMetrics.BATCH;
+        }
+
+        final String query = statement instanceof BoundStatement ? ((BoundStatement) statement).preparedStatement().getQueryString() :
+                statement instanceof RegularStatement ? ((RegularStatement) statement).getQueryString() : "";
+        for (String operation : OPERATIONS) {
+            if (query.regionMatches(true, 0, operation, 0, operation.length())) {
+                return operation;
+            }
+        }
+
+        return CMetrics.OTHER;
+    }
+
+    protected Class<?> entityClass(Function<Row, ?> rowMapper) {
+        return rowMapper instanceof EntityInfo ? ((EntityInfo<?>) rowMapper).entityClass() : null;
+    }
+
     public static <T> CompletableFuture<T> completableFuture(ListenableFuture<T> listenableFuture) {
         return new CompletableOverListenable<>(listenableFuture);
     }
+
+    public static class RoutedStatement extends StatementWrapper {
+        protected final Statement statement;
+        protected final ByteBuffer routingKey;
+
+        public RoutedStatement(Statement statement, ByteBuffer routingKey) {
+            super(statement);
+            this.statement = statement;
+            this.routingKey = routingKey;
+        }
+
+        public Statement getStatement() {
+            return statement;
+        }
+
+        @Override
+        public ByteBuffer getRoutingKey(ProtocolVersion protocolVersion, CodecRegistry codecRegistry) {
+            return routingKey;
+        }
+
+        @Override
+        public String toString() {
+            return "RoutedStatement{" +
+                    "statement=" + statement +
+                    '}';
+        }
+    }
 }
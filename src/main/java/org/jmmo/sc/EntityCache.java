@@ -0,0 +1,83 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.Row;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class EntityCache {
+    public static final int DEFAULT_GENERATION_STRIPES = 64;
+
+    protected final long maximumSize;
+    protected final long expireAfterWriteNanos;
+    protected final Cache<List<Object>, Row> rows;
+    protected final AtomicLongArray generations = new AtomicLongArray(DEFAULT_GENERATION_STRIPES);
+
+    public EntityCache(long maximumSize, long expireAfterWrite, TimeUnit unit) {
+        if (maximumSize < 1 || expireAfterWrite < 1) {
+            throw new IllegalArgumentException("Cache limits should be positive but " + maximumSize + ", " + expireAfterWrite + " were specified");
+        }
+
+        this.maximumSize = maximumSize;
+        this.expireAfterWriteNanos = unit.toNanos(expireAfterWrite);
+        this.rows = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite, unit)
+                .recordStats()
+                .build();
+    }
+
+    public Row get(List<Object> keyValues) {
+        return rows.getIfPresent(keyValues);
+    }
+
+    public long generation(List<Object> keyValues) {
+        return generations.get(stripe(keyValues));
+    }
+
+    public void put(List<Object> keyValues, Row row, long generation) {
+        rows.put(keyValues, row);
+
+        if (generation(keyValues) != generation) {
+            rows.invalidate(keyValues);
+        }
+    }
+
+    public void invalidate(List<Object> keyValues) {
+        generations.incrementAndGet(stripe(keyValues));
+        rows.invalidate(keyValues);
+    }
+
+    public void invalidateAll() {
+        for (int i = 0; i < generations.length(); i++) {
+            generations.incrementAndGet(i);
+        }
+        rows.invalidateAll();
+    }
+
+    protected int stripe(List<Object> keyValues) {
+        return (keyValues.hashCode() & Integer.MAX_VALUE) % generations.length();
+    }
+
+    public long size() {
+        return rows.size();
+    }
+
+    public CacheStats stats() {
+        return rows.stats();
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCache{" +
+                "maximumSize=" + maximumSize +
+                ", expireAfterWrite=" + TimeUnit.NANOSECONDS.toMillis(expireAfterWriteNanos) + "ms" +
+                ", size=" + rows.size() +
+                ", stats=" + rows.stats() +
+                '}';
+    }
+}
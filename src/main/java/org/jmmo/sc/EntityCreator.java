@@ -0,0 +1,76 @@
+package org.jmmo.sc;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+public class EntityCreator<T> {
+    protected final Class<T> entityClass;
+    protected final MethodHandle creator;
+    protected final int[] fieldParameters;
+    protected final Object[] defaults;
+
+    public EntityCreator(Class<T> entityClass, MethodHandle creator, int[] parameterFields, int fieldsCount) {
+        if (creator.type().parameterCount() != parameterFields.length) {
+            throw new IllegalArgumentException("Creator of " + entityClass + " has " + creator.type().parameterCount() + " parameters but "
+                    + parameterFields.length + " fields were specified");
+        }
+
+        this.entityClass = entityClass;
+        this.defaults = new Object[parameterFields.length];
+        for (int i = 0; i < defaults.length; i++) {
+            final Class<?> parameterClass = creator.type().parameterType(i);
+            defaults[i] = parameterClass.isPrimitive() ? Array.get(Array.newInstance(parameterClass, 1), 0) : null;
+        }
+
+        this.fieldParameters = new int[fieldsCount];
+        Arrays.fill(fieldParameters, -1);
+        for (int i = 0; i < parameterFields.length; i++) {
+            fieldParameters[parameterFields[i]] = i;
+        }
+
+        this.creator = creator.asType(creator.type().generic())
+                .asSpreader(Object[].class, parameterFields.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    public Object[] arguments() {
+        return defaults.clone();
+    }
+
+    public int parameter(int fieldIndex) {
+        return fieldParameters[fieldIndex];
+    }
+
+    public boolean isComplete() {
+        for (int parameter : fieldParameters) {
+            if (parameter < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public T create(Object[] arguments) {
+        try {
+            return entityClass.cast((Object) creator.invokeExact(arguments));
+        }
+        catch (Throwable throwable) {
+            throw new RuntimeException(throwable);
+        }
+    }
+
+    public T create() {
+        return create(arguments());
+    }
+
+    @Override
+    public String toString() {
+        return "EntityCreator{" +
+                "entityClass=" + entityClass.getName() +
+                ", parameters=" + defaults.length +
+                '}';
+    }
+}
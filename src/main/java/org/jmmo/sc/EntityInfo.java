@@ -8,14 +8,19 @@ import com.datastax.driver.core.querybuilder.Insert;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import com.datastax.driver.core.querybuilder.Select;
 import com.datastax.driver.core.querybuilder.Update;
+import com.google.common.collect.MapMaker;
+import com.google.common.primitives.Primitives;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 public class EntityInfo<T> implements CMapper<T> {
     protected final Class<T> entityClass;
@@ -26,9 +31,29 @@ public class EntityInfo<T> implements CMapper<T> {
     protected final List<CInputConverter> inputConverters;
     protected final List<COutputConverter> outputConverters;
     protected final ProtocolVersion protocolVersion;
+    protected final Supplier<T> entityFactory;
+    protected final EntityCreator<T> entityCreator;
+    protected final CFieldMapper[] fieldMappers;
+    protected final UnaryOperator<Object>[] fieldOutputConverters;
+    protected final Map<String, Integer> fieldIndexes;
+    protected final ConcurrentMap<ColumnDefinitions, ColumnMapper[]> rowPlans = new MapMaker().weakKeys().makeMap();
+    protected volatile EntityCache cache;
+    protected volatile EntityInfo<T> detached;
 
     public EntityInfo(Class<T> entityClass, String table, Map<String, CFieldMapper> fields, Map<Integer, String> keys, List<String> columns,
                        List<CInputConverter> inputConverters, List<COutputConverter> outputConverters, ProtocolVersion protocolVersion) {
+        this(entityClass, table, fields, keys, columns, inputConverters, outputConverters, protocolVersion, null);
+    }
+
+    public EntityInfo(Class<T> entityClass, String table, Map<String, CFieldMapper> fields, Map<Integer, String> keys, List<String> columns,
+                      List<CInputConverter> inputConverters, List<COutputConverter> outputConverters, ProtocolVersion protocolVersion,
+                      Supplier<T> entityFactory) {
+        this(entityClass, table, fields, keys, columns, inputConverters, outputConverters, protocolVersion, entityFactory, null);
+    }
+
+    public EntityInfo(Class<T> entityClass, String table, Map<String, CFieldMapper> fields, Map<Integer, String> keys, List<String> columns,
+                      List<CInputConverter> inputConverters, List<COutputConverter> outputConverters, ProtocolVersion protocolVersion,
+                      Supplier<T> entityFactory, EntityCreator<T> entityCreator) {
         this.entityClass = entityClass;
         this.table = table;
         this.protocolVersion = protocolVersion;
@@ -37,12 +62,34 @@ public class EntityInfo<T> implements CMapper<T> {
         this.columns = columns.toArray(new String[columns.size()]);
         this.inputConverters = inputConverters;
         this.outputConverters = outputConverters;
+        this.entityCreator = entityCreator;
+        this.entityFactory = entityFactory != null ? entityFactory : entityCreator != null ? entityCreator::create : this::newInstance;
+
+        this.fieldMappers = fields.values().toArray(new CFieldMapper[fields.size()]);
+        //noinspection unchecked
+        this.fieldOutputConverters = new UnaryOperator[fieldMappers.length];
+        this.fieldIndexes = new HashMap<>(fields.size() * 2);
+        int index = 0;
+        for (Map.Entry<String, CFieldMapper> field : fields.entrySet()) {
+            fieldOutputConverters[index] = resolveOut(field.getValue().getFieldClass());
+            fieldIndexes.put(field.getKey(), index++);
+        }
     }
 
     public Select.Where selectQuery(List<Object> keyValues) {
         final Select.Where where = QueryBuilder.select(columns()).from(table()).where();
 
         createClauses(checkKeyValues(keyValues)).forEach(where::and);
+        where.setIdempotent(true);
+
+        return where;
+    }
+
+    public Select.Where selectQuery(List<String> projectionColumns, List<Object> keyValues) {
+        final Select.Where where = QueryBuilder.select(projectionColumns.toArray(new String[projectionColumns.size()])).from(table()).where();
+
+        createClauses(checkKeyValues(keyValues)).forEach(where::and);
+        where.setIdempotent(true);
 
         return where;
     }
@@ -51,6 +98,75 @@ public class EntityInfo<T> implements CMapper<T> {
         return selectQuery(keyValues(entity));
     }
 
+    public Select.Where selectPreparedQuery(int keysCount) {
+        final Select.Where where = QueryBuilder.select(columns()).from(table()).where();
+
+        createMarkerClauses(checkKeysCount(keysCount)).forEach(where::and);
+        where.setIdempotent(true);
+
+        return where;
+    }
+
+    public Select.Where selectPreparedQuery(List<String> projectionColumns, int keysCount) {
+        final Select.Where where = QueryBuilder.select(projectionColumns.toArray(new String[projectionColumns.size()])).from(table()).where();
+
+        createMarkerClauses(checkKeysCount(keysCount)).forEach(where::and);
+        where.setIdempotent(true);
+
+        return where;
+    }
+
+    public List<String> projectionColumns(String... fieldNames) {
+        return projectionColumns(Arrays.asList(fieldNames));
+    }
+
+    public List<String> projectionColumns(List<String> fieldNames) {
+        if (fieldNames.isEmpty()) {
+            throw new IllegalArgumentException("Should be specified at least one field");
+        }
+
+        final List<String> projectionColumns = new ArrayList<>(fieldNames.size());
+        for (String fieldName : fieldNames) {
+            final int index = fieldIndex(fieldName);
+            if (index < 0) {
+                throw new IllegalArgumentException("There is wrong field name was specified: " + fieldName);
+            }
+
+            projectionColumns.add(columns[index]);
+        }
+
+        return projectionColumns;
+    }
+
+    public List<String> projectionColumns(Predicate<String> fieldFilter) {
+        final List<String> projectionColumns = new ArrayList<>(columns.length);
+
+        for (String column : columns) {
+            if (fieldFilter.test(ParseUtils.unDoubleQuote(column))) {
+                projectionColumns.add(column);
+            }
+        }
+
+        if (projectionColumns.isEmpty()) {
+            throw new IllegalArgumentException("There are no fields matching the filter in " + entityClass);
+        }
+
+        return projectionColumns;
+    }
+
+    public Select.Where rangeQuery(List<String> partitionColumns, boolean bounded) {
+        final String token = QueryBuilder.token(partitionColumns.toArray(new String[partitionColumns.size()]));
+        final Select.Where where = QueryBuilder.select(columns()).from(table()).where(QueryBuilder.gt(token, QueryBuilder.bindMarker()));
+
+        if (bounded) {
+            where.and(QueryBuilder.lte(token, QueryBuilder.bindMarker()));
+        }
+
+        where.setIdempotent(true);
+
+        return where;
+    }
+
     public Delete.Where deleteQuery(List<Object> keyValues) {
         final Delete.Where where = QueryBuilder.delete().from(table()).where();
 
@@ -63,17 +179,75 @@ public class EntityInfo<T> implements CMapper<T> {
         return deleteQuery(keyValues(entity));
     }
 
+    public Delete.Where deletePreparedQuery(int keysCount) {
+        final Delete.Where where = QueryBuilder.delete().from(table()).where();
+
+        createMarkerClauses(checkKeysCount(keysCount)).forEach(where::and);
+
+        return where;
+    }
+
     public Insert insertQuery(T entity) {
         return QueryBuilder.insertInto(table()).values(columns(), values(entity));
     }
 
     public Insert insertQuery(T entity, String... notKeyFields) {
+        return insertQuery(entity, notKeyColumns(notKeyFields));
+    }
+
+    public Insert insertQuery(T entity, Predicate<String> fieldFilter) {
+        return insertQuery(entity, notKeyColumns(fieldFilter));
+    }
+
+    public Insert insertQuery(T entity, List<String> notKeyColumns) {
+        final Insert insert = prepareInsert(entity);
+
+        for (String fieldName : notKeyColumns) {
+            insert.value(fieldName, fieldValue(entity, fieldIndexes.get(ParseUtils.unDoubleQuote(fieldName))));
+        }
+
+        return insert;
+    }
+
+    public Insert insertPreparedQuery() {
+        final Object[] markers = new Object[columns().length];
+        Arrays.fill(markers, QueryBuilder.bindMarker());
+
+        return QueryBuilder.insertInto(table()).values(columns(), markers);
+    }
+
+    public Insert insertPreparedQuery(List<String> notKeyColumns) {
+        final Insert insert = QueryBuilder.insertInto(table());
+
+        for (int i = 0; i < keys.size(); i++) {
+            insert.value(columns()[i], QueryBuilder.bindMarker());
+        }
+        for (String fieldName : notKeyColumns) {
+            insert.value(fieldName, QueryBuilder.bindMarker());
+        }
+
+        return insert;
+    }
+
+    public Object[] insertValues(T entity, List<String> notKeyColumns) {
+        final Object[] values = new Object[keys.size() + notKeyColumns.size()];
+
+        int index = 0;
+        for (; index < keys.size(); index++) {
+            values[index] = fieldValue(entity, index);
+        }
+        for (String fieldName : notKeyColumns) {
+            values[index++] = fieldValue(entity, fieldIndexes.get(ParseUtils.unDoubleQuote(fieldName)));
+        }
+
+        return values;
+    }
+
+    public List<String> notKeyColumns(String... notKeyFields) {
         if (notKeyFields.length == 0) {
             throw new IllegalArgumentException("Should be specified at least one non-keyed field");
         }
 
-        final Insert insert = prepareInsert(entity);
-
         for (String fieldName : notKeyFields) {
             final String noQuotesName = ParseUtils.unDoubleQuote(fieldName);
             final CFieldMapper fieldMapper = fields.get(noQuotesName);
@@ -83,34 +257,30 @@ public class EntityInfo<T> implements CMapper<T> {
             if (keys.values().contains(noQuotesName)) {
                 throw new IllegalArgumentException("Only non-keyed fields should be specified by " + fieldName + " is keyed");
             }
-
-            insert.value(fieldName, fieldValue(entity, fieldMapper));
         }
 
-        return insert;
+        return Arrays.asList(notKeyFields);
     }
 
-    public Insert insertQuery(T entity, Predicate<String> fieldFilter) {
-        final Insert insert = prepareInsert(entity);
+    public List<String> notKeyColumns(Predicate<String> fieldFilter) {
+        final List<String> notKeyColumns = new ArrayList<>(fields.size() - keys.size());
 
         for (int i = keys.size(); i < fields.size(); i++) {
             final String fieldName = columns()[i];
-            final String noQuotesName = ParseUtils.unDoubleQuote(fieldName);
 
-            if (fieldFilter.test(noQuotesName)) {
-                insert.value(fieldName, fieldValue(entity, fields.get(noQuotesName)));
+            if (fieldFilter.test(ParseUtils.unDoubleQuote(fieldName))) {
+                notKeyColumns.add(fieldName);
             }
         }
 
-        return insert;
+        return notKeyColumns;
     }
 
     private Insert prepareInsert(T entity) {
         final Insert insert = QueryBuilder.insertInto(table());
 
-        final List<Object> keyValues = keyValues(entity);
-        for (int i = 0; i < keyValues.size(); i++) {
-            insert.value(columns()[i], keyValues.get(i));
+        for (int i = 0; i < keys.size(); i++) {
+            insert.value(columns()[i], fieldValue(entity, i));
         }
 
         return insert;
@@ -120,13 +290,8 @@ public class EntityInfo<T> implements CMapper<T> {
         final Update.Assignments ass = QueryBuilder.update(table()).with();
 
         if (assignments.length == 0) {
-            int columnIndex = 0;
-            for (CFieldMapper fieldMapper : fields.values()) {
-                if (columnIndex >= keys.size()) {
-                    ass.and(QueryBuilder.set(columns()[columnIndex], fieldValue(entity, fieldMapper)));
-                }
-
-                columnIndex++;
+            for (int i = keys.size(); i < fieldMappers.length; i++) {
+                ass.and(QueryBuilder.set(columns()[i], fieldValue(entity, i)));
             }
         }
         else {
@@ -144,31 +309,98 @@ public class EntityInfo<T> implements CMapper<T> {
         return where;
     }
 
-    protected List<Object> keyValues(T entity) {
-        return keys.values().stream().map(keyName -> fieldValue(entity, fields.get(keyName))).collect(Collectors.toList());
+    public Update.Where updatePreparedQuery() {
+        final Update.Assignments ass = QueryBuilder.update(table()).with();
+
+        for (int i = keys.size(); i < columns().length; i++) {
+            ass.and(QueryBuilder.set(columns()[i], QueryBuilder.bindMarker()));
+        }
+
+        final List<Clause> clauses = createMarkerClauses(keys.size());
+        final Update.Where where = ass.where(clauses.get(0));
+        for (int i = 1; i < clauses.size(); i++) {
+            where.and(clauses.get(i));
+        }
+
+        return where;
     }
 
-    protected Object fieldValue(T entity, CFieldMapper fieldMapper) {
-        final Object value;
-        try {
-            value = fieldMapper.getGetter().invoke(entity);
+    public Object[] updateValues(T entity) {
+        final Object[] values = new Object[fieldMappers.length];
+
+        for (int i = keys.size(); i < fieldMappers.length; i++) {
+            values[i - keys.size()] = fieldValue(entity, i);
         }
-        catch (Throwable throwable) {
-            throw new RuntimeException(throwable);
+        for (int i = 0; i < keys.size(); i++) {
+            values[fieldMappers.length - keys.size() + i] = fieldValue(entity, i);
         }
 
-        return outputConverters.stream().map(converter -> converter.convertOut(fieldMapper.getFieldClass(), value))
-                .map(Iterable::iterator).filter(Iterator::hasNext).map(Iterator::next).findFirst().orElse(value);
+        return values;
+    }
+
+    public List<Object> keyValues(T entity) {
+        final Object[] keyValues = new Object[keys.size()];
+
+        for (int i = 0; i < keyValues.length; i++) {
+            keyValues[i] = fieldValue(entity, i);
+        }
+
+        return Arrays.asList(keyValues);
+    }
+
+    public List<Object> cacheKey(List<Object> keyValues) {
+        final Object[] cacheKey = new Object[keyValues.size()];
+
+        for (int i = 0; i < cacheKey.length; i++) {
+            cacheKey[i] = keyValue(i, keyValues.get(i));
+        }
+
+        return Arrays.asList(cacheKey);
+    }
+
+    protected Object keyValue(int index, Object value) {
+        final UnaryOperator<Object> outputConverter = fieldOutputConverters[index];
+        if (outputConverter == null || !Primitives.wrap(fieldMappers[index].getFieldClass()).isInstance(value)) {
+            return value;
+        }
+
+        return outputConverter.apply(value);
+    }
+
+    protected Object fieldValue(T entity, int index) {
+        final Object value = fieldMappers[index].getAccessor().get(entity);
+        final UnaryOperator<Object> outputConverter = fieldOutputConverters[index];
+
+        return outputConverter == null ? value : outputConverter.apply(value);
     }
 
-    protected List<Object> checkKeyValues(List<Object> keyValues) {
-        if (keyValues.size() > keys.size()) {
-            throw new IllegalArgumentException("Specified " + keyValues.size() + " key values but " + table() + " has only " + keys.size() + " keys");
+    protected Object fieldValue(T entity, CFieldMapper fieldMapper) {
+        for (int i = 0; i < fieldMappers.length; i++) {
+            if (fieldMappers[i] == fieldMapper) {
+                return fieldValue(entity, i);
+            }
         }
 
+        final UnaryOperator<Object> outputConverter = resolveOut(fieldMapper.getFieldClass());
+        final Object value = fieldMapper.getAccessor().get(entity);
+
+        return outputConverter == null ? value : outputConverter.apply(value);
+    }
+
+    public List<Object> checkKeyValues(List<Object> keyValues) {
+        checkKeysCount(keyValues.size());
+
         return keyValues;
     }
 
+    protected int checkKeysCount(int keysCount) {
+        if (keysCount > keys.size()) {
+            throw new IllegalArgumentException("Specified " + keysCount + " key values but " + table() + " has only " + keys.size() + " keys");
+        }
+
+        return keysCount;
+    }
+
     protected List<Clause> createClauses(List<Object> keyValues) {
         final List<Clause> clauses = new ArrayList<>(keyValues.size());
 
@@ -179,35 +411,280 @@ public class EntityInfo<T> implements CMapper<T> {
         return clauses;
     }
 
+    protected List<Clause> createMarkerClauses(int keysCount) {
+        final List<Clause> clauses = new ArrayList<>(keysCount);
+
+        for (int i = 0; i < keysCount; i++) {
+            clauses.add(QueryBuilder.eq(columns()[i], QueryBuilder.bindMarker()));
+        }
+
+        return clauses;
+    }
+
     @Override
     public T apply(Row row) {
+        return entityCreator == null ? fill(entityFactory.get(), row) : create(row);
+    }
+
+    public T fill(T entity, Row row) {
+        for (ColumnMapper columnMapper : rowPlan(row.getColumnDefinitions())) {
+            fillColumn(entity, row, columnMapper);
+        }
+
+        return entity;
+    }
+
+    protected T create(Row row) {
+        final ColumnMapper[] rowPlan = rowPlan(row.getColumnDefinitions());
+        final Object[] arguments = entityCreator.arguments();
+
+        boolean complete = true;
+        for (ColumnMapper columnMapper : rowPlan) {
+            final int parameter = entityCreator.parameter(columnMapper.fieldIndex);
+            if (parameter < 0) {
+                complete = false;
+            }
+            else {
+                arguments[parameter] = columnValue(row, columnMapper);
+            }
+        }
+
+        final T entity = entityCreator.create(arguments);
+        if (!complete) {
+            for (ColumnMapper columnMapper : rowPlan) {
+                if (entityCreator.parameter(columnMapper.fieldIndex) < 0) {
+                    fillColumn(entity, row, columnMapper);
+                }
+            }
+        }
+
+        return entity;
+    }
+
+    public T entity(Object[] fieldValues) {
+        if (fieldValues.length != fieldMappers.length) {
+            throw new IllegalArgumentException("Specified " + fieldValues.length + " values but " + entityClass + " has " + fieldMappers.length + " fields");
+        }
+
         final T entity;
+        if (entityCreator == null) {
+            entity = entityFactory.get();
+        }
+        else {
+            final Object[] arguments = entityCreator.arguments();
+            for (int i = 0; i < fieldValues.length; i++) {
+                final int parameter = entityCreator.parameter(i);
+                if (parameter >= 0 && fieldValues[i] != null) {
+                    arguments[parameter] = fieldValues[i];
+                }
+            }
+            entity = entityCreator.create(arguments);
+        }
+
+        for (int i = 0; i < fieldValues.length; i++) {
+            if (fieldValues[i] != null && (entityCreator == null || entityCreator.parameter(i) < 0)) {
+                fieldMappers[i].getAccessor().set(entity, fieldValues[i]);
+            }
+        }
+
+        return entity;
+    }
+
+    protected void fillColumn(T entity, Row row, ColumnMapper columnMapper) {
+        if (columnMapper.primitiveMapper != null) {
+            columnMapper.primitiveMapper.read(entity, row, columnMapper.index);
+        }
+        else {
+            columnMapper.fieldMapper.getAccessor().set(entity, columnValue(row, columnMapper));
+        }
+    }
+
+    protected Object columnValue(Row row, ColumnMapper columnMapper) {
+        if (row.isNull(columnMapper.index)) {
+            return columnMapper.nullValue;
+        }
+
+        final Object rowValue = columnMapper.codec.deserialize(row.getBytesUnsafe(columnMapper.index), protocolVersion);
+        return columnMapper.inputConverter == null ? rowValue : columnMapper.inputConverter.apply(rowValue);
+    }
+
+    protected T newInstance() {
         try {
-            entity = entityClass.newInstance();
+            return entityClass.newInstance();
         }
         catch (InstantiationException | IllegalAccessException e) {
             throw new RuntimeException(e);
         }
+    }
+
+    protected ColumnMapper[] rowPlan(ColumnDefinitions columnDefinitions) {
+        final ColumnMapper[] rowPlan = rowPlans.get(columnDefinitions);
+        if (rowPlan != null) {
+            return rowPlan;
+        }
 
-        for (ColumnDefinitions.Definition definition : row.getColumnDefinitions()) {
-            final CFieldMapper fieldMapper = fields.get(definition.getName());
-            if (fieldMapper == null) {
+        return rowPlans.computeIfAbsent(columnDefinitions, this::createRowPlan);
+    }
+
+    protected ColumnMapper[] createRowPlan(ColumnDefinitions columnDefinitions) {
+        final List<ColumnMapper> rowPlan = new ArrayList<>(columnDefinitions.size());
+
+        for (int i = 0; i < columnDefinitions.size(); i++) {
+            final Integer fieldIndex = fieldIndexes.get(columnDefinitions.getName(i));
+            if (fieldIndex == null) {
                 continue;
             }
 
-            final Object value = row.isNull(definition.getName()) ? null : CodecRegistry.DEFAULT_INSTANCE.codecFor(definition.getType())
-                    .deserialize(row.getBytesUnsafe(definition.getName()), protocolVersion);
+            final CFieldMapper fieldMapper = fieldMappers[fieldIndex];
+            final DataType type = columnDefinitions.getType(i);
+            final UnaryOperator<Object> inputConverter = resolveIn(type, fieldMapper.getFieldClass());
+            rowPlan.add(new ColumnMapper(i, fieldIndex, type, CodecRegistry.DEFAULT_INSTANCE.codecFor(type), fieldMapper, inputConverter,
+                    inputConverter == null ? null : inputConverter.apply(null), primitiveMapper(type, fieldMapper)));
+        }
+
+        return rowPlan.toArray(new ColumnMapper[rowPlan.size()]);
+    }
+
+    protected PrimitiveFieldMapper primitiveMapper(DataType type, CFieldMapper fieldMapper) {
+        if (!(fieldMapper instanceof PrimitiveFieldMapper) || !((PrimitiveFieldMapper) fieldMapper).accepts(type.getName())) {
+            return null;
+        }
+
+        for (CInputConverter converter : inputConverters) {
+            if (!(converter instanceof EntityPool.CInputConverterNull)
+                    && (!(converter instanceof CInputResolver) || ((CInputResolver) converter).resolveIn(type, fieldMapper.getFieldClass()) != null)) {
+                return null;
+            }
+        }
+
+        return (PrimitiveFieldMapper) fieldMapper;
+    }
+
+    protected UnaryOperator<Object> resolveIn(DataType type, Class<?> fieldClass) {
+        final List<UnaryOperator<Object>> chain = new ArrayList<>(inputConverters.size());
 
-            try {
-                fieldMapper.getSetter().invoke(entity, inputConverters.stream().map(converter -> converter.convertIn(definition.getType(), value, fieldMapper.getFieldClass()))
-                        .map(Iterable::iterator).filter(Iterator::hasNext).map(Iterator::next).findFirst().orElse(value));
+        for (CInputConverter converter : inputConverters) {
+            if (converter instanceof CInputResolver) {
+                final UnaryOperator<Object> resolved = ((CInputResolver) converter).resolveIn(type, fieldClass);
+                if (resolved != null) {
+                    chain.add(resolved);
+                }
             }
-            catch (Throwable throwable) {
-                throw new RuntimeException(throwable);
+            else {
+                chain.add(value -> first(converter.convertIn(type, value, fieldClass), CInputResolver.NOT_HANDLED));
             }
         }
 
-        return entity;
+        return chain(chain);
+    }
+
+    protected UnaryOperator<Object> resolveOut(Class<?> fieldClass) {
+        final List<UnaryOperator<Object>> chain = new ArrayList<>(outputConverters.size());
+
+        for (COutputConverter converter : outputConverters) {
+            if (converter instanceof COutputResolver) {
+                final UnaryOperator<Object> resolved = ((COutputResolver) converter).resolveOut(fieldClass);
+                if (resolved != null) {
+                    chain.add(resolved);
+                }
+            }
+            else {
+                chain.add(value -> first(converter.convertOut(fieldClass, value), COutputResolver.NOT_HANDLED));
+            }
+        }
+
+        return chain(chain);
+    }
+
+    protected static UnaryOperator<Object> chain(List<UnaryOperator<Object>> chain) {
+        if (chain.isEmpty()) {
+            return null;
+        }
+        if (chain.size() == 1) {
+            final UnaryOperator<Object> converter = chain.get(0);
+            return value -> {
+                final Object converted = converter.apply(value);
+                return converted == CInputResolver.NOT_HANDLED ? value : converted;
+            };
+        }
+
+        //noinspection unchecked
+        final UnaryOperator<Object>[] converters = chain.toArray(new UnaryOperator[chain.size()]);
+        return value -> {
+            for (UnaryOperator<Object> converter : converters) {
+                final Object converted = converter.apply(value);
+                if (converted != CInputResolver.NOT_HANDLED) {
+                    return converted;
+                }
+            }
+
+            return value;
+        };
+    }
+
+    protected static Object first(Iterable<Object> values, Object defaultValue) {
+        final Iterator<Object> iterator = values.iterator();
+        return iterator.hasNext() ? iterator.next() : defaultValue;
+    }
+
+    public int keysCount() {
+        return keys.size();
+    }
+
+    public int fieldsCount() {
+        return fieldMappers.length;
+    }
+
+    public Class<?> fieldClass(int index) {
+        return fieldMappers[index].getFieldClass();
+    }
+
+    public CFieldMapper fieldMapper(int index) {
+        return fieldMappers[index];
+    }
+
+    public EntityCache cache() {
+        return cache;
+    }
+
+    public void cache(EntityCache cache) {
+        this.cache = cache;
+    }
+
+    public EntityInfo<T> detached() {
+        EntityInfo<T> result = detached;
+
+        if (result == null) {
+            final List<CInputConverter> copyingConverters = new ArrayList<>(inputConverters.size());
+            boolean copying = true;
+            for (CInputConverter converter : inputConverters) {
+                if (converter instanceof EntityPool.CInputConverterBytes && !((EntityPool.CInputConverterBytes) converter).isCopy()) {
+                    copyingConverters.add(new EntityPool.CInputConverterBytes(true));
+                    copying = false;
+                }
+                else {
+                    copyingConverters.add(converter);
+                }
+            }
+
+            result = detached = copying ? this : new EntityInfo<>(entityClass, table, fields, keys, Arrays.asList(columns),
+                    copyingConverters, outputConverters, protocolVersion, entityFactory, entityCreator);
+        }
+
+        return result;
+    }
+
+    public int fieldIndex(String column) {
+        final Integer index = fieldIndexes.get(ParseUtils.unDoubleQuote(column));
+        return index == null ? -1 : index;
+    }
+
+    public Class<T> entityClass() {
+        return entityClass;
+    }
+
+    public EntityCreator<T> entityCreator() {
+        return entityCreator;
     }
 
     @Override
@@ -222,11 +699,10 @@ public class EntityInfo<T> implements CMapper<T> {
 
     @Override
     public Object[] values(T t) {
-        final Object[] values = new Object[fields.size()];
+        final Object[] values = new Object[fieldMappers.length];
 
-        int index = 0;
-        for (CFieldMapper fieldMapper : fields.values()) {
-            values[index++] = fieldValue(t, fieldMapper);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fieldValue(t, i);
         }
 
         return values;
@@ -242,4 +718,27 @@ public class EntityInfo<T> implements CMapper<T> {
                 ", columns=" + Arrays.toString(columns) +
                 '}';
     }
+
+    protected static class ColumnMapper {
+        protected final int index;
+        protected final int fieldIndex;
+        protected final DataType type;
+        protected final TypeCodec<Object> codec;
+        protected final CFieldMapper fieldMapper;
+        protected final UnaryOperator<Object> inputConverter;
+        protected final Object nullValue;
+        protected final PrimitiveFieldMapper primitiveMapper;
+
+        protected ColumnMapper(int index, int fieldIndex, DataType type, TypeCodec<Object> codec, CFieldMapper fieldMapper,
+                               UnaryOperator<Object> inputConverter, Object nullValue, PrimitiveFieldMapper primitiveMapper) {
+            this.index = index;
+            this.fieldIndex = fieldIndex;
+            this.type = type;
+            this.codec = codec;
+            this.fieldMapper = fieldMapper;
+            this.inputConverter = inputConverter;
+            this.nullValue = nullValue;
+            this.primitiveMapper = primitiveMapper;
+        }
+    }
 }
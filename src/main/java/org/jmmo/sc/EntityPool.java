@@ -6,80 +6,178 @@ import com.datastax.driver.core.ProtocolVersion;
 import com.datastax.driver.mapping.annotations.ClusteringColumn;
 import com.datastax.driver.mapping.annotations.PartitionKey;
 import com.datastax.driver.mapping.annotations.Transient;
+import com.google.common.reflect.ClassPath;
+import org.jmmo.sc.annotation.Cached;
 import org.jmmo.sc.annotation.Column;
+import org.jmmo.sc.annotation.Creator;
 import org.jmmo.sc.annotation.Key;
 import org.jmmo.sc.annotation.Table;
 
+import java.io.IOException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
 import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 public class EntityPool {
     protected static final int CLUSTERING_NUMBER_OFFSET = 1000;
 
-    protected volatile Map<Class<?>, EntityInfo> entityDataMap = new HashMap<>();
-    protected final Lock lock = new ReentrantLock();
+    protected final ConcurrentMap<Class<?>, EntityInfo> entityDataMap = new ConcurrentHashMap<>();
     protected final ProtocolVersion protocolVersion;
     protected final List<CInputConverter> inputConverters;
     protected final List<COutputConverter> outputConverters;
+    protected final CAccessorFactory accessorFactory;
 
     public EntityPool() {
         this.protocolVersion = defaultProtocolVersion();
         this.inputConverters = defaultInputConverters();
         this.outputConverters = defaultOutputConverters();
+        this.accessorFactory = defaultAccessorFactory();
     }
 
     public EntityPool(ProtocolVersion protocolVersion) {
         this.protocolVersion = protocolVersion;
         this.inputConverters = defaultInputConverters();
         this.outputConverters = defaultOutputConverters();
+        this.accessorFactory = defaultAccessorFactory();
+    }
+
+    public EntityPool(CAccessorFactory accessorFactory) {
+        this.protocolVersion = defaultProtocolVersion();
+        this.inputConverters = defaultInputConverters();
+        this.outputConverters = defaultOutputConverters();
+        this.accessorFactory = accessorFactory;
     }
 
     public EntityPool(ProtocolVersion protocolVersion, List<CInputConverter> inputConverters, List<COutputConverter> outputConverters) {
         this.protocolVersion = protocolVersion;
         this.inputConverters = inputConverters;
         this.outputConverters = outputConverters;
+        this.accessorFactory = defaultAccessorFactory();
+    }
+
+    public EntityPool(ProtocolVersion protocolVersion, List<CInputConverter> inputConverters, List<COutputConverter> outputConverters,
+                      CAccessorFactory accessorFactory) {
+        this.protocolVersion = protocolVersion;
+        this.inputConverters = inputConverters;
+        this.outputConverters = outputConverters;
+        this.accessorFactory = accessorFactory;
+    }
+
+    public ProtocolVersion getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    public List<CInputConverter> getInputConverters() {
+        return inputConverters;
+    }
+
+    public List<COutputConverter> getOutputConverters() {
+        return outputConverters;
+    }
+
+    public CAccessorFactory getAccessorFactory() {
+        return accessorFactory;
+    }
+
+    public EntityPool cache(Class<?> entityClass, long maximumSize, long expireAfterWrite, TimeUnit unit) {
+        entityInfo(entityClass).cache(new EntityCache(maximumSize, expireAfterWrite, unit));
+        return this;
     }
 
     public <T> EntityInfo<T> entityInfo(Class<T> entityClass) {
         EntityInfo entityData = entityDataMap.get(entityClass);
 
         if (entityData == null) {
-            try {
-                entityData = createEntityData(entityClass);
-            }
-            catch (IllegalAccessException e) {
-                throw new RuntimeException(e);
-            }
+            entityData = entityDataMap.computeIfAbsent(entityClass, this::registerEntityData);
+        }
 
-            lock.lock();
-            try {
-                final EntityInfo previousData = entityDataMap.get(entityClass);
-                if (previousData == null) {
-                    final Map<Class<?>, EntityInfo> newMap = new HashMap<>(entityDataMap.size() + 1);
-                    newMap.putAll(entityDataMap);
-                    newMap.put(entityClass, entityData);
-                    entityDataMap = newMap;
-                }
-                else {
-                    entityData = previousData;
-                }
+        //noinspection unchecked
+        return entityData;
+    }
+
+    public EntityPool register(Class<?>... entityClasses) {
+        return register(Arrays.asList(entityClasses));
+    }
+
+    public EntityPool register(Collection<Class<?>> entityClasses) {
+        entityClasses.forEach(this::entityInfo);
+        return this;
+    }
+
+    public EntityPool registerPackage(String packageName) {
+        return registerPackage(packageName, Thread.currentThread().getContextClassLoader());
+    }
+
+    public EntityPool registerPackage(String packageName, ClassLoader classLoader) {
+        final ClassPath classPath;
+        try {
+            classPath = ClassPath.from(classLoader);
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        final String prefix = packageName + '.';
+        for (ClassPath.ClassInfo classInfo : classPath.getAllClasses()) {
+            if (!classInfo.getName().startsWith(prefix) || classInfo.getName().endsWith(CGeneratedMapper.SUFFIX)) {
+                continue;
             }
-            finally {
-                lock.unlock();
+
+            final Class<?> entityClass = classInfo.load();
+            if (entityClass.isAnnotationPresent(Table.class) || entityClass.isAnnotationPresent(com.datastax.driver.mapping.annotations.Table.class)) {
+                entityInfo(entityClass);
             }
         }
 
-        //noinspection unchecked
+        return this;
+    }
+
+    protected EntityInfo registerEntityData(Class<?> entityClass) {
+        final EntityInfo<?> entityData;
+        try {
+            entityData = createEntityData(entityClass);
+        }
+        catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+
+        final Cached cachedAnnotation = entityClass.getAnnotation(Cached.class);
+        if (cachedAnnotation != null) {
+            entityData.cache(new EntityCache(cachedAnnotation.maximumSize(), cachedAnnotation.expireAfterWrite(), cachedAnnotation.unit()));
+        }
+
         return entityData;
     }
 
     protected <T> EntityInfo<T> createEntityData(Class<T> entityClass) throws IllegalAccessException {
+        final CGeneratedMapper<T> generatedMapper = generatedMapper(entityClass);
+        if (generatedMapper != null) {
+            return generatedMapper.entityInfo(protocolVersion, inputConverters, outputConverters);
+        }
+
         final Table tableAnnotation = entityClass.getAnnotation(Table.class);
         final com.datastax.driver.mapping.annotations.Table xTableAnnotation = entityClass.getAnnotation(com.datastax.driver.mapping.annotations.Table.class);
 
@@ -99,15 +197,26 @@ public class EntityPool {
         final Map<String, CFieldMapper> regularFields = new LinkedHashMap<>();
         final Map<String, String> noQuotes2Quotes = new HashMap<>();
 
+        final List<Field> mappedFields = new ArrayList<>();
         for (Field field : allFields(entityClass)) {
             final int modifiers = field.getModifiers();
             if (Modifier.isStatic(modifiers)
-                    || Modifier.isFinal(modifiers)
                     || Modifier.isTransient(modifiers)
                     || field.isAnnotationPresent(Transient.class)) {
                 continue;
             }
 
+            mappedFields.add(field);
+        }
+
+        final Executable creator = creator(entityClass, mappedFields);
+        final List<Field> creatorFields = creator == null ? Collections.emptyList() : creatorFields(creator, mappedFields);
+        if (creator == null) {
+            mappedFields.removeIf(field -> Modifier.isFinal(field.getModifiers()));
+        }
+
+        final Map<Field, String> fieldColumns = new HashMap<>();
+        for (Field field : mappedFields) {
             if (!field.isAccessible()) {
                 field.setAccessible(true);
             }
@@ -128,8 +237,10 @@ public class EntityPool {
             }
 
             final String noQuotesColumn = ParseUtils.unDoubleQuote(column);
-            final CFieldMapper fieldMapper = new CFieldMapper(field.getType(),
-                    MethodHandles.lookup().unreflectGetter(field), MethodHandles.lookup().unreflectSetter(field));
+            final MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+            final MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+            final CFieldAccessor accessor = accessorFactory.accessor(field);
+            final CFieldMapper fieldMapper = PrimitiveFieldMapper.of(field.getType(), getter, setter, accessor);
 
             final Key keyAnnotation = field.getAnnotation(Key.class);
             final PartitionKey partitionKeyAnnotation = field.getAnnotation(PartitionKey.class);
@@ -158,6 +269,7 @@ public class EntityPool {
             }
 
             noQuotes2Quotes.put(noQuotesColumn, column);
+            fieldColumns.put(field, noQuotesColumn);
         }
 
         if (keys.isEmpty()) {
@@ -170,8 +282,131 @@ public class EntityPool {
         }
         fields.putAll(regularFields);
 
+        final EntityCreator<T> entityCreator;
+        if (creator == null) {
+            entityCreator = null;
+        }
+        else {
+            final List<String> fieldColumnNames = new ArrayList<>(fields.keySet());
+            entityCreator = new EntityCreator<>(entityClass, creatorHandle(creator),
+                    creatorFields.stream().mapToInt(field -> fieldColumnNames.indexOf(fieldColumns.get(field))).toArray(), fields.size());
+        }
+
         return new EntityInfo<>(entityClass, table, fields, keys, fields.keySet().stream().map(noQuotes2Quotes::get).collect(Collectors.toList()),
-                inputConverters, outputConverters, protocolVersion);
+                inputConverters, outputConverters, protocolVersion, null, entityCreator);
+    }
+
+    protected Executable creator(Class<?> entityClass, List<Field> fields) {
+        final List<Executable> creators = new ArrayList<>();
+        for (Constructor<?> constructor : entityClass.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(Creator.class)) {
+                creators.add(constructor);
+            }
+        }
+        for (Method method : entityClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Creator.class)) {
+                if (!Modifier.isStatic(method.getModifiers()) || !entityClass.isAssignableFrom(method.getReturnType())) {
+                    throw new IllegalArgumentException("Creator method " + method + " should be static and return " + entityClass);
+                }
+
+                creators.add(method);
+            }
+        }
+
+        if (creators.size() > 1) {
+            throw new IllegalArgumentException("There are several creators in " + entityClass + ": " + creators);
+        }
+        if (!creators.isEmpty()) {
+            return creators.get(0);
+        }
+
+        if (Modifier.isAbstract(entityClass.getModifiers())) {
+            return null;
+        }
+
+        final List<Class<?>> fieldTypes = fields.stream().map(Field::getType).collect(Collectors.toList());
+        Constructor<?> canonical = null;
+        for (Constructor<?> constructor : entityClass.getDeclaredConstructors()) {
+            if (constructor.getParameterCount() == 0) {
+                return null;
+            }
+            if (Arrays.asList(constructor.getParameterTypes()).equals(fieldTypes)) {
+                canonical = constructor;
+            }
+        }
+
+        return canonical;
+    }
+
+    protected List<Field> creatorFields(Executable creator, List<Field> fields) {
+        final Parameter[] parameters = creator.getParameters();
+        final Creator creatorAnnotation = creator.getAnnotation(Creator.class);
+
+        final String[] names;
+        if (creatorAnnotation != null && creatorAnnotation.value().length > 0) {
+            names = creatorAnnotation.value();
+        }
+        else if (Arrays.stream(parameters).allMatch(Parameter::isNamePresent)) {
+            names = Arrays.stream(parameters).map(Parameter::getName).toArray(String[]::new);
+        }
+        else if (Arrays.asList(creator.getParameterTypes()).equals(fields.stream().map(Field::getType).collect(Collectors.toList()))) {
+            return fields;
+        }
+        else {
+            throw new IllegalArgumentException("Parameters of " + creator + " cannot be matched with fields, their names should be specified by @Creator");
+        }
+
+        if (names.length != parameters.length) {
+            throw new IllegalArgumentException(creator + " has " + parameters.length + " parameters but " + names.length + " names were specified");
+        }
+
+        final List<Field> creatorFields = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            final Field field = fields.stream().filter(f -> f.getName().equals(name)).findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("There is no mapped field " + name + " for parameter of " + creator));
+            if (field.getType() != parameters[i].getType()) {
+                throw new IllegalArgumentException("Field " + name + " has " + field.getType() + " but parameter of " + creator + " has " + parameters[i].getType());
+            }
+
+            creatorFields.add(field);
+        }
+
+        return creatorFields;
+    }
+
+    protected MethodHandle creatorHandle(Executable creator) throws IllegalAccessException {
+        if (!creator.isAccessible()) {
+            creator.setAccessible(true);
+        }
+
+        return creator instanceof Constructor ? MethodHandles.lookup().unreflectConstructor((Constructor<?>) creator)
+                : MethodHandles.lookup().unreflect((Method) creator);
+    }
+
+    protected <T> CGeneratedMapper<T> generatedMapper(Class<T> entityClass) {
+        final Class<?> mapperClass;
+        try {
+            mapperClass = Class.forName(CGeneratedMapper.mapperName(entityClass.getName()), true, entityClass.getClassLoader());
+        }
+        catch (ClassNotFoundException e) {
+            return null;
+        }
+
+        if (!CGeneratedMapper.class.isAssignableFrom(mapperClass)) {
+            return null;
+        }
+
+        final CGeneratedMapper<?> generatedMapper;
+        try {
+            generatedMapper = (CGeneratedMapper<?>) mapperClass.newInstance();
+        }
+        catch (InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+
+        //noinspection unchecked
+        return generatedMapper.entityClass() == entityClass ? (CGeneratedMapper<T>) generatedMapper : null;
     }
 
     @SafeVarargs
@@ -199,7 +434,33 @@ public class EntityPool {
         return fields;
     }
 
-    public static class CInputConverterNull implements CInputConverter {
+    public static class CInputConverterNull implements CInputResolver {
+        private static final UnaryOperator<Object> NULL_INT = value -> value == null ? 0 : NOT_HANDLED;
+        private static final UnaryOperator<Object> NULL_FLOAT = value -> value == null ? 0f : NOT_HANDLED;
+        private static final UnaryOperator<Object> NULL_DOUBLE = value -> value == null ? 0.0 : NOT_HANDLED;
+        private static final UnaryOperator<Object> NULL_LONG = value -> value == null ? 0L : NOT_HANDLED;
+        private static final UnaryOperator<Object> NULL_BOOLEAN = value -> value == null ? false : NOT_HANDLED;
+
+        @Override
+        public UnaryOperator<Object> resolveIn(DataType rowType, Class<?> fieldClass) {
+            if (rowType.getName() == DataType.Name.INT && fieldClass == int.class) {
+                return NULL_INT;
+            }
+            else if (rowType.getName() == DataType.Name.FLOAT && fieldClass == float.class) {
+                return NULL_FLOAT;
+            }
+            else if (rowType.getName() == DataType.Name.DOUBLE && fieldClass == double.class) {
+                return NULL_DOUBLE;
+            }
+            else if ((rowType.getName() == DataType.Name.BIGINT || rowType.getName() == DataType.Name.COUNTER) && fieldClass == long.class) {
+                return NULL_LONG;
+            }
+            else if (rowType.getName() == DataType.Name.BOOLEAN && fieldClass == boolean.class) {
+                return NULL_BOOLEAN;
+            }
+
+            return null;
+        }
 
         @Override
         public Iterable<Object> convertIn(DataType rowType, Object inputValue, Class<?> fieldClass) {
@@ -227,15 +488,47 @@ public class EntityPool {
         }
     }
 
-    public static class CInputConverterBytes implements CInputConverter {
+    public static class CInputConverterBytes implements CInputResolver {
+        private static final UnaryOperator<Object> BYTES = value -> value instanceof ByteBuffer ? byteArray((ByteBuffer) value) : NOT_HANDLED;
+        private static final UnaryOperator<Object> READ_ONLY = value -> value instanceof ByteBuffer ? ((ByteBuffer) value).slice().asReadOnlyBuffer() : NOT_HANDLED;
+        private static final UnaryOperator<Object> LAZY = value -> value instanceof ByteBuffer ? LazyBlob.of((ByteBuffer) value) : NOT_HANDLED;
+        private static final UnaryOperator<Object> COPY_BYTES = value -> value instanceof ByteBuffer ? copy((ByteBuffer) value) : NOT_HANDLED;
+        private static final UnaryOperator<Object> COPY_READ_ONLY = value -> value instanceof ByteBuffer ? ByteBuffer.wrap(copy((ByteBuffer) value)).asReadOnlyBuffer() : NOT_HANDLED;
+        private static final UnaryOperator<Object> COPY_LAZY = value -> value instanceof ByteBuffer ? LazyBlob.copyOf((ByteBuffer) value) : NOT_HANDLED;
+
+        private final boolean copy;
+
+        public CInputConverterBytes() {
+            this(false);
+        }
+
+        public CInputConverterBytes(boolean copy) {
+            this.copy = copy;
+        }
+
+        public boolean isCopy() {
+            return copy;
+        }
 
         @Override
-        public Iterable<Object> convertIn(DataType rowType, Object inputValue, Class<?> fieldClass) {
-            if (inputValue instanceof ByteBuffer && fieldClass == byte[].class) {
-                return Collections.singleton(byteArray((ByteBuffer) inputValue));
+        public UnaryOperator<Object> resolveIn(DataType rowType, Class<?> fieldClass) {
+            if (fieldClass == byte[].class) {
+                return copy ? COPY_BYTES : BYTES;
+            }
+            else if (fieldClass == ByteBuffer.class) {
+                return copy ? COPY_READ_ONLY : READ_ONLY;
+            }
+            else if (fieldClass == LazyBlob.class) {
+                return copy ? COPY_LAZY : LAZY;
             }
 
-            return Collections.emptyList();
+            return null;
+        }
+
+        @Override
+        public Iterable<Object> convertIn(DataType rowType, Object inputValue, Class<?> fieldClass) {
+            final UnaryOperator<Object> converter = inputValue instanceof ByteBuffer ? resolveIn(rowType, fieldClass) : null;
+            return converter == null ? Collections.emptyList() : Collections.singleton(converter.apply(inputValue));
         }
 
         public static byte[] byteArray(ByteBuffer buffer) {
@@ -243,26 +536,50 @@ public class EntityPool {
                 return buffer.array();
             }
 
+            return copy(buffer);
+        }
+
+        public static byte[] copy(ByteBuffer buffer) {
             final byte[] result = new byte[buffer.remaining()];
-            buffer.get(result);
+            buffer.duplicate().get(result);
 
             return result;
         }
     }
 
-    public static class COutputConverterBytes implements COutputConverter {
+    public static class COutputConverterBytes implements COutputResolver {
+        private static final UnaryOperator<Object> BYTES = value -> value instanceof byte[] ? ByteBuffer.wrap((byte[]) value)
+                : value instanceof LazyBlob ? ((LazyBlob) value).buffer() : NOT_HANDLED;
+
+        @Override
+        public UnaryOperator<Object> resolveOut(Class<?> fieldClass) {
+            return fieldClass.isAssignableFrom(byte[].class) || fieldClass.isAssignableFrom(LazyBlob.class) ? BYTES : null;
+        }
 
         @Override
         public Iterable<Object> convertOut(Class<?> fieldClass, Object outputValue) {
             if (outputValue instanceof byte[]) {
                 return Collections.singleton(ByteBuffer.wrap((byte[]) outputValue));
             }
+            else if (outputValue instanceof LazyBlob) {
+                return Collections.singleton(((LazyBlob) outputValue).buffer());
+            }
 
             return Collections.emptyList();
         }
     }
 
-    public static class CInputConverterEnum implements CInputConverter {
+    public static class CInputConverterEnum implements CInputResolver {
+
+        @Override
+        public UnaryOperator<Object> resolveIn(DataType rowType, Class<?> fieldClass) {
+            if (!fieldClass.isEnum()) {
+                return null;
+            }
+
+            final Object[] constants = fieldClass.getEnumConstants();
+            return value -> value instanceof Number ? constants[((Number) value).intValue()] : NOT_HANDLED;
+        }
 
         @Override
         public Iterable<Object> convertIn(DataType rowType, Object inputValue, Class<?> fieldClass) {
@@ -274,7 +591,13 @@ public class EntityPool {
         }
     }
 
-    public static class COutputConverterEnum implements COutputConverter {
+    public static class COutputConverterEnum implements COutputResolver {
+        private static final UnaryOperator<Object> ORDINAL = value -> value instanceof Enum ? ((Enum) value).ordinal() : NOT_HANDLED;
+
+        @Override
+        public UnaryOperator<Object> resolveOut(Class<?> fieldClass) {
+            return fieldClass.isAssignableFrom(Enum.class) || fieldClass.isEnum() ? ORDINAL : null;
+        }
 
         @Override
         public Iterable<Object> convertOut(Class<?> fieldClass, Object outputValue) {
@@ -286,10 +609,267 @@ public class EntityPool {
         }
     }
 
+    public static class CFieldAccessorHandles implements CFieldAccessor {
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        public CFieldAccessorHandles(MethodHandle getter, MethodHandle setter) {
+            this.getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+            this.setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        }
+
+        @Override
+        public Object get(Object entity) {
+            try {
+                return getter.invokeExact(entity);
+            }
+            catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        }
+
+        @Override
+        public void set(Object entity, Object value) {
+            try {
+                setter.invokeExact(entity, value);
+            }
+            catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "CFieldAccessorHandles{}";
+        }
+    }
+
+    public static class CFieldAccessorLambda implements CFieldAccessor {
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+
+        public CFieldAccessorLambda(Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public Object get(Object entity) {
+            return getter.apply(entity);
+        }
+
+        @Override
+        public void set(Object entity, Object value) {
+            setter.accept(entity, value);
+        }
+
+        @Override
+        public String toString() {
+            return "CFieldAccessorLambda{}";
+        }
+    }
+
+    public static class CAccessorFactoryHandles implements CAccessorFactory {
+
+        @Override
+        public CFieldAccessor accessor(Field field) throws IllegalAccessException {
+            return new CFieldAccessorHandles(MethodHandles.lookup().unreflectGetter(field), MethodHandles.lookup().unreflectSetter(field));
+        }
+    }
+
+    public static class CIntAccessorLambda extends CFieldAccessorLambda {
+        private final ToIntFunction<Object> intGetter;
+        private final ObjIntConsumer<Object> intSetter;
+
+        public CIntAccessorLambda(ToIntFunction<Object> intGetter, ObjIntConsumer<Object> intSetter) {
+            super(intGetter::applyAsInt, (entity, value) -> intSetter.accept(entity, (Integer) value));
+            this.intGetter = intGetter;
+            this.intSetter = intSetter;
+        }
+
+        public int getInt(Object entity) {
+            return intGetter.applyAsInt(entity);
+        }
+
+        public void setInt(Object entity, int value) {
+            intSetter.accept(entity, value);
+        }
+    }
+
+    public static class CLongAccessorLambda extends CFieldAccessorLambda {
+        private final ToLongFunction<Object> longGetter;
+        private final ObjLongConsumer<Object> longSetter;
+
+        public CLongAccessorLambda(ToLongFunction<Object> longGetter, ObjLongConsumer<Object> longSetter) {
+            super(longGetter::applyAsLong, (entity, value) -> longSetter.accept(entity, (Long) value));
+            this.longGetter = longGetter;
+            this.longSetter = longSetter;
+        }
+
+        public long getLong(Object entity) {
+            return longGetter.applyAsLong(entity);
+        }
+
+        public void setLong(Object entity, long value) {
+            longSetter.accept(entity, value);
+        }
+    }
+
+    public static class CFloatAccessorLambda extends CFieldAccessorLambda {
+        private final PrimitiveFieldMapper.ToFloatFunction<Object> floatGetter;
+        private final PrimitiveFieldMapper.ObjFloatConsumer<Object> floatSetter;
+
+        public CFloatAccessorLambda(PrimitiveFieldMapper.ToFloatFunction<Object> floatGetter, PrimitiveFieldMapper.ObjFloatConsumer<Object> floatSetter) {
+            super(floatGetter::applyAsFloat, (entity, value) -> floatSetter.accept(entity, (Float) value));
+            this.floatGetter = floatGetter;
+            this.floatSetter = floatSetter;
+        }
+
+        public float getFloat(Object entity) {
+            return floatGetter.applyAsFloat(entity);
+        }
+
+        public void setFloat(Object entity, float value) {
+            floatSetter.accept(entity, value);
+        }
+    }
+
+    public static class CDoubleAccessorLambda extends CFieldAccessorLambda {
+        private final ToDoubleFunction<Object> doubleGetter;
+        private final ObjDoubleConsumer<Object> doubleSetter;
+
+        public CDoubleAccessorLambda(ToDoubleFunction<Object> doubleGetter, ObjDoubleConsumer<Object> doubleSetter) {
+            super(doubleGetter::applyAsDouble, (entity, value) -> doubleSetter.accept(entity, (Double) value));
+            this.doubleGetter = doubleGetter;
+            this.doubleSetter = doubleSetter;
+        }
+
+        public double getDouble(Object entity) {
+            return doubleGetter.applyAsDouble(entity);
+        }
+
+        public void setDouble(Object entity, double value) {
+            doubleSetter.accept(entity, value);
+        }
+    }
+
+    public static class CBooleanAccessorLambda extends CFieldAccessorLambda {
+        private final Predicate<Object> booleanGetter;
+        private final PrimitiveFieldMapper.ObjBooleanConsumer<Object> booleanSetter;
+
+        public CBooleanAccessorLambda(Predicate<Object> booleanGetter, PrimitiveFieldMapper.ObjBooleanConsumer<Object> booleanSetter) {
+            super(booleanGetter::test, (entity, value) -> booleanSetter.accept(entity, (Boolean) value));
+            this.booleanGetter = booleanGetter;
+            this.booleanSetter = booleanSetter;
+        }
+
+        public boolean getBoolean(Object entity) {
+            return booleanGetter.test(entity);
+        }
+
+        public void setBoolean(Object entity, boolean value) {
+            booleanSetter.accept(entity, value);
+        }
+    }
+
+    public static class CAccessorFactoryLambda implements CAccessorFactory {
+        private final CAccessorFactory fallbackFactory;
+
+        public CAccessorFactoryLambda() {
+            this(new CAccessorFactoryHandles());
+        }
+
+        public CAccessorFactoryLambda(CAccessorFactory fallbackFactory) {
+            this.fallbackFactory = fallbackFactory;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public CFieldAccessor accessor(Field field) throws IllegalAccessException {
+            final Class<?> type = field.getType();
+            final Method getterMethod = beanMethod(field, type == boolean.class ? "is" : "get");
+            final Method setterMethod = beanMethod(field, "set", type);
+            if (getterMethod == null || getterMethod.getReturnType() != type || setterMethod == null || !isVisible(field.getDeclaringClass())) {
+                return fallbackFactory.accessor(field);
+            }
+
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle getter = lookup.unreflect(getterMethod);
+            final MethodHandle setter = lookup.unreflect(setterMethod);
+            try {
+                if (type == int.class) {
+                    return new CIntAccessorLambda((ToIntFunction<Object>) getter(lookup, ToIntFunction.class, "applyAsInt", getter),
+                            (ObjIntConsumer<Object>) setter(lookup, ObjIntConsumer.class, setter));
+                }
+                else if (type == long.class) {
+                    return new CLongAccessorLambda((ToLongFunction<Object>) getter(lookup, ToLongFunction.class, "applyAsLong", getter),
+                            (ObjLongConsumer<Object>) setter(lookup, ObjLongConsumer.class, setter));
+                }
+                else if (type == float.class) {
+                    return new CFloatAccessorLambda((PrimitiveFieldMapper.ToFloatFunction<Object>) getter(lookup, PrimitiveFieldMapper.ToFloatFunction.class, "applyAsFloat", getter),
+                            (PrimitiveFieldMapper.ObjFloatConsumer<Object>) setter(lookup, PrimitiveFieldMapper.ObjFloatConsumer.class, setter));
+                }
+                else if (type == double.class) {
+                    return new CDoubleAccessorLambda((ToDoubleFunction<Object>) getter(lookup, ToDoubleFunction.class, "applyAsDouble", getter),
+                            (ObjDoubleConsumer<Object>) setter(lookup, ObjDoubleConsumer.class, setter));
+                }
+                else if (type == boolean.class) {
+                    return new CBooleanAccessorLambda((Predicate<Object>) getter(lookup, Predicate.class, "test", getter),
+                            (PrimitiveFieldMapper.ObjBooleanConsumer<Object>) setter(lookup, PrimitiveFieldMapper.ObjBooleanConsumer.class, setter));
+                }
+
+                return new CFieldAccessorLambda((Function<Object, Object>) getter(lookup, Function.class, "apply", getter),
+                        (BiConsumer<Object, Object>) setter(lookup, BiConsumer.class, setter));
+            }
+            catch (Throwable throwable) {
+                return fallbackFactory.accessor(field);
+            }
+        }
+
+        protected Object getter(MethodHandles.Lookup lookup, Class<?> functionalInterface, String name, MethodHandle getter) throws Throwable {
+            return LambdaMetafactory.metafactory(lookup, name, MethodType.methodType(functionalInterface), getter.type().erase(), getter, getter.type()).getTarget().invoke();
+        }
+
+        protected Object setter(MethodHandles.Lookup lookup, Class<?> functionalInterface, MethodHandle setter) throws Throwable {
+            final MethodType instantiated = setter.type().changeReturnType(void.class);
+            return LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(functionalInterface), instantiated.erase(), setter, instantiated).getTarget().invoke();
+        }
+
+        protected Method beanMethod(Field field, String prefix, Class<?>... parameterTypes) {
+            final String name = prefix + Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+            try {
+                final Method method = field.getDeclaringClass().getMethod(name, parameterTypes);
+                return Modifier.isStatic(method.getModifiers()) || !isVisible(method.getDeclaringClass()) ? null : method;
+            }
+            catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        protected boolean isVisible(Class<?> clazz) {
+            for (Class<?> c = clazz; c != null; c = c.getEnclosingClass()) {
+                if (!Modifier.isPublic(c.getModifiers())) {
+                    return false;
+                }
+            }
+
+            try {
+                return Class.forName(clazz.getName(), false, EntityPool.class.getClassLoader()) == clazz;
+            }
+            catch (ClassNotFoundException e) {
+                return false;
+            }
+        }
+    }
+
     protected ProtocolVersion defaultProtocolVersion() {
         return ProtocolVersion.NEWEST_SUPPORTED;
     }
 
+    protected CAccessorFactory defaultAccessorFactory() {
+        return new CAccessorFactoryHandles();
+    }
+
     protected List<CInputConverter> defaultInputConverters() {
         final List<CInputConverter> converters = new ArrayList<>();
 
@@ -0,0 +1,379 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.LocalDate;
+import com.datastax.driver.core.PagingState;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TokenRange;
+import com.datastax.driver.core.utils.Bytes;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+public class Exporter {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    protected final Cassandra cassandra;
+    protected final Format format;
+    protected final boolean compressed;
+    protected final int bufferSize;
+    protected final Consumer<Checkpoint> pageListener;
+
+    public Exporter(Cassandra cassandra, Format format, boolean compressed) {
+        this(cassandra, format, compressed, DEFAULT_BUFFER_SIZE, checkpoint -> {});
+    }
+
+    public Exporter(Cassandra cassandra, Format format, boolean compressed, int bufferSize, Consumer<Checkpoint> pageListener) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size should be positive but " + bufferSize + " was specified");
+        }
+
+        this.cassandra = cassandra;
+        this.format = format;
+        this.compressed = compressed;
+        this.bufferSize = bufferSize;
+        this.pageListener = pageListener;
+    }
+
+    public long export(Class<?> entityClass, Path path) {
+        return export(entityClass, path, null);
+    }
+
+    public long export(Class<?> entityClass, Path path, Checkpoint checkpoint) {
+        final EntityInfo<?> entityInfo = cassandra.getEntityPoll().entityInfo(entityClass);
+        return export(entityInfo.selectQuery(Collections.emptyList()), path, checkpoint);
+    }
+
+    public long export(Statement statement, Path path) {
+        return export(statement, path, null);
+    }
+
+    public long export(Statement statement, Path path, Checkpoint checkpoint) {
+        return export(Collections.singletonList(statement), source -> CompletableFuture.completedFuture(statement), path, checkpoint);
+    }
+
+    public long export(Class<?> entityClass, Collection<TokenRange> ranges, Path path) {
+        return export(entityClass, ranges, path, null);
+    }
+
+    public long export(Class<?> entityClass, Collection<TokenRange> ranges, Path path, Checkpoint checkpoint) {
+        final EntityInfo<?> entityInfo = cassandra.getEntityPoll().entityInfo(entityClass);
+        final List<String> partitionColumns = cassandra.partitionColumns(entityInfo);
+        return export(new ArrayList<>(ranges), range -> cassandra.rangeStatementAsync(entityInfo, partitionColumns, range), path, checkpoint);
+    }
+
+    protected <S> long export(List<S> sources, Function<S, CompletableFuture<Statement>> statementFunction, Path path, Checkpoint checkpoint) {
+        final long offset = checkpoint == null ? 0 : checkpoint.getOffset();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (channel.size() < offset) {
+                throw new IllegalArgumentException("File " + path + " has " + channel.size() + " bytes but checkpoint is at " + offset);
+            }
+            if (checkpoint != null && checkpoint.getRange() > sources.size()) {
+                throw new IllegalArgumentException("Checkpoint is at range " + checkpoint.getRange() + " but only " + sources.size() + " ranges were specified");
+            }
+
+            channel.truncate(offset);
+            channel.position(offset);
+
+            if (checkpoint != null && checkpoint.isComplete()) {
+                return 0;
+            }
+
+            long rows = 0;
+            for (int i = checkpoint == null ? 0 : checkpoint.getRange(); i < sources.size(); i++) {
+                final Statement statement = get(statementFunction.apply(sources.get(i)));
+                if (checkpoint != null && checkpoint.getRange() == i && checkpoint.getPagingState() != null) {
+                    statement.setPagingState(checkpoint.getPagingState());
+                }
+
+                rows += writePages(channel, cassandra.execute(statement), (checkpoint == null ? 0 : checkpoint.getRows()) + rows, i, i == sources.size() - 1);
+            }
+
+            return rows;
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    protected Writer writer(FileChannel channel) throws IOException {
+        final OutputStream channelStream = new FilterOutputStream(Channels.newOutputStream(channel)) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        final OutputStream stream = compressed ? new GZIPOutputStream(channelStream, bufferSize) : channelStream;
+        return new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    protected long writePages(FileChannel channel, ResultSet resultSet, long exported, int range, boolean last) throws IOException {
+        final ColumnDefinitions columns = resultSet.getColumnDefinitions();
+        long rows = 0;
+
+        while (true) {
+            final PagingState pagingState = resultSet.getExecutionInfo().getPagingState();
+            final int available = resultSet.getAvailableWithoutFetching();
+            final ListenableFuture<ResultSet> nextPage = pagingState == null ? null : resultSet.fetchMoreResults();
+
+            final boolean header = channel.position() == 0;
+            try (Writer writer = writer(channel)) {
+                if (header) {
+                    writeHeader(writer, columns);
+                }
+                for (int i = 0; i < available; i++) {
+                    writeRow(writer, columns, resultSet.one());
+                }
+            }
+            rows += available;
+
+            channel.force(false);
+            pageListener.accept(pagingState == null && !last
+                    ? new Checkpoint(exported + rows, channel.position(), range + 1, null, false)
+                    : new Checkpoint(exported + rows, channel.position(), range, pagingState, pagingState == null));
+
+            if (nextPage == null) {
+                return rows;
+            }
+
+            get(nextPage);
+        }
+    }
+
+    protected static <V> V get(Future<V> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    protected void writeHeader(Writer writer, ColumnDefinitions columns) throws IOException {
+        if (format != Format.CSV) {
+            return;
+        }
+
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsv(writer, columns.getName(i));
+        }
+        writer.write('\n');
+    }
+
+    protected void writeRow(Writer writer, ColumnDefinitions columns, Row row) throws IOException {
+        if (format == Format.CSV) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (!row.isNull(i)) {
+                    writeCsv(writer, text(columns.getType(i), row.getObject(i)));
+                }
+            }
+        }
+        else {
+            writer.write('{');
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeJson(writer, columns.getName(i));
+                writer.write(':');
+
+                final Object value = row.isNull(i) ? null : row.getObject(i);
+                if (value == null) {
+                    writer.write("null");
+                }
+                else if (value instanceof Boolean || value instanceof Number && isFinite((Number) value)) {
+                    writer.write(value.toString());
+                }
+                else {
+                    writeJson(writer, text(columns.getType(i), value));
+                }
+            }
+            writer.write('}');
+        }
+        writer.write('\n');
+    }
+
+    protected String text(DataType type, Object value) {
+        if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof LocalDate) {
+            return value.toString();
+        }
+        if (value instanceof ByteBuffer) {
+            return Bytes.toHexString((ByteBuffer) value);
+        }
+        if (value instanceof Date) {
+            return ((Date) value).toInstant().toString();
+        }
+        if (type.isCollection() || type.getName() == DataType.Name.UDT || type.getName() == DataType.Name.TUPLE) {
+            return CodecRegistry.DEFAULT_INSTANCE.codecFor(type).format(value);
+        }
+
+        return value.toString();
+    }
+
+    protected static boolean isFinite(Number number) {
+        return !(number instanceof Double && (((Double) number).isNaN() || ((Double) number).isInfinite())
+                || number instanceof Float && (((Float) number).isNaN() || ((Float) number).isInfinite()));
+    }
+
+    protected static void writeCsv(Writer writer, String text) throws IOException {
+        boolean quoted = text.isEmpty();
+        for (int i = 0; i < text.length() && !quoted; i++) {
+            final char c = text.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+
+        if (!quoted) {
+            writer.write(text);
+            return;
+        }
+
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    protected static void writeJson(Writer writer, String text) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    }
+                    else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+    public static class Checkpoint {
+        protected final long rows;
+        protected final long offset;
+        protected final int range;
+        protected final PagingState pagingState;
+        protected final boolean complete;
+
+        public Checkpoint(long rows, long offset, PagingState pagingState) {
+            this(rows, offset, 0, pagingState, pagingState == null);
+        }
+
+        public Checkpoint(long rows, long offset, int range, PagingState pagingState, boolean complete) {
+            this.rows = rows;
+            this.offset = offset;
+            this.range = range;
+            this.pagingState = pagingState;
+            this.complete = complete;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public int getRange() {
+            return range;
+        }
+
+        public PagingState getPagingState() {
+            return pagingState;
+        }
+
+        public boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        public String toString() {
+            return "Checkpoint{" +
+                    "rows=" + rows +
+                    ", offset=" + offset +
+                    ", range=" + range +
+                    ", pagingState=" + pagingState +
+                    ", complete=" + complete +
+                    '}';
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Exporter{" +
+                "format=" + format +
+                ", compressed=" + compressed +
+                ", bufferSize=" + bufferSize +
+                '}';
+    }
+}
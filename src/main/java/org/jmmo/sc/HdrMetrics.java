@@ -0,0 +1,235 @@
+package org.jmmo.sc;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class HdrMetrics implements CMetrics {
+    public static final int DEFAULT_SIGNIFICANT_DIGITS = 3;
+
+    protected final int significantDigits;
+    protected final ConcurrentMap<Key, Operation> operations = new ConcurrentHashMap<>();
+    protected final ConcurrentMap<Key, Entity> entities = new ConcurrentHashMap<>();
+
+    public HdrMetrics() {
+        this(DEFAULT_SIGNIFICANT_DIGITS);
+    }
+
+    public HdrMetrics(int significantDigits) {
+        if (significantDigits < 0 || significantDigits > 5) {
+            throw new IllegalArgumentException("Significant digits should be between 0 and 5 but " + significantDigits + " was specified");
+        }
+
+        this.significantDigits = significantDigits;
+    }
+
+    @Override
+    public void request(Class<?> entityClass, String operation, boolean async, long nanos, Throwable error) {
+        operations.computeIfAbsent(new Key(entityClass, operation, async), key -> new Operation(significantDigits)).record(nanos, error);
+
+        if (SELECT.equals(operation)) {
+            entity(entityClass).queries.increment();
+        }
+    }
+
+    @Override
+    public void page(Class<?> entityClass, int rows) {
+        final Entity entity = entity(entityClass);
+        entity.pages.increment();
+        entity.rows.add(rows);
+    }
+
+    @Override
+    public void mapping(Class<?> entityClass, long nanos) {
+        entity(entityClass).mapping.recordValue(Math.max(nanos, 0));
+    }
+
+    @Override
+    public void hedge(Class<?> entityClass, boolean won) {
+        final Entity entity = entity(entityClass);
+        entity.hedges.increment();
+        if (won) {
+            entity.hedgeWins.increment();
+        }
+    }
+
+    public Operation getOperation(Class<?> entityClass, String operation, boolean async) {
+        return operations.get(new Key(entityClass, operation, async));
+    }
+
+    public Entity getEntity(Class<?> entityClass) {
+        return entities.get(new Key(entityClass, null, false));
+    }
+
+    public Map<Key, Operation> getOperations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    public Map<Key, Entity> getEntities() {
+        return Collections.unmodifiableMap(entities);
+    }
+
+    public void reset() {
+        operations.clear();
+        entities.clear();
+    }
+
+    protected Entity entity(Class<?> entityClass) {
+        return entities.computeIfAbsent(new Key(entityClass, null, false), key -> new Entity(significantDigits));
+    }
+
+    @Override
+    public String toString() {
+        return "HdrMetrics{" +
+                "operations=" + operations +
+                ", entities=" + entities +
+                '}';
+    }
+
+    public static class Key {
+        protected final Class<?> entityClass;
+        protected final String operation;
+        protected final boolean async;
+
+        public Key(Class<?> entityClass, String operation, boolean async) {
+            this.entityClass = entityClass;
+            this.operation = operation;
+            this.async = async;
+        }
+
+        public Class<?> getEntityClass() {
+            return entityClass;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public boolean isAsync() {
+            return async;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return async == key.async && Objects.equals(entityClass, key.entityClass) && Objects.equals(operation, key.operation);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityClass, operation, async);
+        }
+
+        @Override
+        public String toString() {
+            return (entityClass == null ? "*" : entityClass.getSimpleName()) + (operation == null ? "" : ":" + operation + (async ? ":async" : ":sync"));
+        }
+    }
+
+    public static class Operation {
+        protected final ConcurrentHistogram latency;
+        protected final LongAdder errors = new LongAdder();
+
+        public Operation(int significantDigits) {
+            this.latency = new ConcurrentHistogram(significantDigits);
+        }
+
+        protected void record(long nanos, Throwable error) {
+            latency.recordValue(Math.max(nanos, 0));
+            if (error != null) {
+                errors.increment();
+            }
+        }
+
+        public Histogram getLatency() {
+            return latency.copy();
+        }
+
+        public long getRequests() {
+            return latency.getTotalCount();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Operation{" +
+                    "requests=" + latency.getTotalCount() +
+                    ", errors=" + errors +
+                    ", p50=" + latency.getValueAtPercentile(50) + "ns" +
+                    ", p99=" + latency.getValueAtPercentile(99) + "ns" +
+                    ", max=" + latency.getMaxValue() + "ns" +
+                    '}';
+        }
+    }
+
+    public static class Entity {
+        protected final ConcurrentHistogram mapping;
+        protected final LongAdder queries = new LongAdder();
+        protected final LongAdder pages = new LongAdder();
+        protected final LongAdder rows = new LongAdder();
+        protected final LongAdder hedges = new LongAdder();
+        protected final LongAdder hedgeWins = new LongAdder();
+
+        public Entity(int significantDigits) {
+            this.mapping = new ConcurrentHistogram(significantDigits);
+        }
+
+        public Histogram getMapping() {
+            return mapping.copy();
+        }
+
+        public long getQueries() {
+            return queries.sum();
+        }
+
+        public long getPages() {
+            return pages.sum();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public double getPagesPerQuery() {
+            final long queries = this.queries.sum();
+            return queries == 0 ? 0 : (double) pages.sum() / queries;
+        }
+
+        public long getHedges() {
+            return hedges.sum();
+        }
+
+        public long getHedgeWins() {
+            return hedgeWins.sum();
+        }
+
+        public double getHedgeRate() {
+            final long queries = this.queries.sum();
+            return queries == 0 ? 0 : (double) hedges.sum() / queries;
+        }
+
+        @Override
+        public String toString() {
+            return "Entity{" +
+                    "queries=" + queries +
+                    ", pages=" + pages +
+                    ", rows=" + rows +
+                    ", hedges=" + hedges +
+                    ", hedgeWins=" + hedgeWins +
+                    ", mapped=" + mapping.getTotalCount() +
+                    ", mappingP99=" + mapping.getValueAtPercentile(99) + "ns" +
+                    '}';
+        }
+    }
+}
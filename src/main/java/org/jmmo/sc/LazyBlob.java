@@ -0,0 +1,101 @@
+package org.jmmo.sc;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+public final class LazyBlob {
+    private final ByteBuffer buffer;
+    private volatile byte[] bytes;
+
+    private LazyBlob(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public static LazyBlob of(ByteBuffer buffer) {
+        return new LazyBlob(buffer.slice());
+    }
+
+    public static LazyBlob of(byte[] bytes) {
+        final LazyBlob blob = new LazyBlob(ByteBuffer.wrap(bytes));
+        blob.bytes = bytes;
+        return blob;
+    }
+
+    public static LazyBlob copyOf(ByteBuffer buffer) {
+        return of(EntityPool.CInputConverterBytes.copy(buffer));
+    }
+
+    public LazyBlob copy() {
+        return copyOf(buffer);
+    }
+
+    public int size() {
+        return buffer.remaining();
+    }
+
+    public ByteBuffer buffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public byte[] bytes() {
+        byte[] result = bytes;
+
+        if (result == null) {
+            result = bytes = EntityPool.CInputConverterBytes.byteArray(buffer.duplicate());
+        }
+
+        return result;
+    }
+
+    public InputStream stream() {
+        final byte[] bytes = this.bytes;
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        final ByteBuffer stream = buffer.asReadOnlyBuffer();
+        return new InputStream() {
+            @Override
+            public int read() {
+                return stream.hasRemaining() ? stream.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (!stream.hasRemaining()) {
+                    return -1;
+                }
+
+                final int count = Math.min(len, stream.remaining());
+                stream.get(b, off, count);
+                return count;
+            }
+
+            @Override
+            public int available() {
+                return stream.remaining();
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return buffer.equals(((LazyBlob) o).buffer);
+    }
+
+    @Override
+    public int hashCode() {
+        return buffer.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "LazyBlob{" +
+                "size=" + size() +
+                ", materialized=" + (bytes != null) +
+                '}';
+    }
+}
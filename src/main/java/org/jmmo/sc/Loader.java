@@ -0,0 +1,551 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.exceptions.OperationTimedOutException;
+import com.datastax.driver.core.exceptions.ReadTimeoutException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import com.datastax.driver.core.utils.Bytes;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+public class Loader {
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_MAX_IN_FLIGHT = 128;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_RETRY_DELAY_MILLIS = 100;
+    public static final int DEFAULT_CHUNK_SIZE = 512;
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    protected final Cassandra cassandra;
+    protected final Exporter.Format format;
+    protected final boolean compressed;
+    protected final int threads;
+    protected final int maxInFlight;
+    protected final int maxRetries;
+    protected final Consumer<Summary> progressListener;
+
+    public Loader(Cassandra cassandra, Exporter.Format format, boolean compressed) {
+        this(cassandra, format, compressed, DEFAULT_THREADS, DEFAULT_MAX_IN_FLIGHT, DEFAULT_MAX_RETRIES, summary -> {});
+    }
+
+    public Loader(Cassandra cassandra, Exporter.Format format, boolean compressed, int threads, int maxInFlight, int maxRetries,
+                  Consumer<Summary> progressListener) {
+        if (threads < 1 || maxInFlight < 1 || maxRetries < 0) {
+            throw new IllegalArgumentException("Loader limits should be positive but " + threads + ", " + maxInFlight + ", " + maxRetries + " were specified");
+        }
+
+        this.cassandra = cassandra;
+        this.format = format;
+        this.compressed = compressed;
+        this.threads = threads;
+        this.maxInFlight = maxInFlight;
+        this.maxRetries = maxRetries;
+        this.progressListener = progressListener;
+    }
+
+    public <T> Summary load(Class<T> entityClass, Path path) {
+        final EntityInfo<T> entityInfo = cassandra.getEntityPoll().entityInfo(entityClass);
+        final Summary summary = new Summary();
+        final Semaphore inFlight = new Semaphore(maxInFlight);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(threads * 2),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("loader-" + entityClass.getSimpleName() + "-%d").build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        final ScheduledExecutorService retries = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("loader-" + entityClass.getSimpleName() + "-retry").build());
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             BufferedReader reader = reader(channel)) {
+            final int[] columnFields = format == Exporter.Format.CSV ? columnFields(entityInfo, readCsv(reader)) : null;
+
+            List<String[]> chunk = new ArrayList<>(DEFAULT_CHUNK_SIZE);
+            String[] record;
+            while ((record = format == Exporter.Format.CSV ? csvRecord(entityInfo, columnFields, readCsv(reader)) : jsonRecord(entityInfo, reader)) != null) {
+                summary.records.incrementAndGet();
+                chunk.add(record);
+
+                if (chunk.size() == DEFAULT_CHUNK_SIZE) {
+                    final List<String[]> records = chunk;
+                    executor.execute(() -> ingest(entityInfo, records, inFlight, retries, summary));
+                    chunk = new ArrayList<>(DEFAULT_CHUNK_SIZE);
+                }
+            }
+
+            if (!chunk.isEmpty()) {
+                final List<String[]> records = chunk;
+                executor.execute(() -> ingest(entityInfo, records, inFlight, retries, summary));
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            inFlight.acquire(maxInFlight);
+        }
+        catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        finally {
+            executor.shutdownNow();
+            retries.shutdownNow();
+        }
+
+        summary.finished = System.nanoTime();
+        progressListener.accept(summary);
+        return summary;
+    }
+
+    protected BufferedReader reader(FileChannel channel) throws IOException {
+        final InputStream channelStream = Channels.newInputStream(channel);
+        final InputStream stream = compressed ? new GZIPInputStream(channelStream, DEFAULT_BUFFER_SIZE) : channelStream;
+        return new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8), DEFAULT_BUFFER_SIZE);
+    }
+
+    protected <T> void ingest(EntityInfo<T> entityInfo, List<String[]> records, Semaphore inFlight, ScheduledExecutorService retries, Summary summary) {
+        for (String[] record : records) {
+            final T entity;
+            try {
+                entity = entity(entityInfo, record);
+            }
+            catch (RuntimeException e) {
+                progress(summary, summary.failed(e));
+                continue;
+            }
+
+            inFlight.acquireUninterruptibly();
+            insert(entity, 0, retries, summary).whenComplete((v, throwable) -> {
+                try {
+                    progress(summary, throwable == null ? summary.loaded() : summary.failed(throwable));
+                }
+                finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    protected <T> CompletableFuture<Void> insert(T entity, int attempt, ScheduledExecutorService retries, Summary summary) {
+        CompletableFuture<?> future;
+        try {
+            future = cassandra.insertAsync(entity);
+        }
+        catch (RuntimeException e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+
+        return future.handle((rs, throwable) -> throwable).thenCompose(throwable -> {
+            if (throwable == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+            if (attempt >= maxRetries || !isRetryable(cause)) {
+                final CompletableFuture<Void> failed = new CompletableFuture<>();
+                failed.completeExceptionally(cause);
+                return failed;
+            }
+
+            summary.retried.incrementAndGet();
+            final CompletableFuture<Void> retry = new CompletableFuture<>();
+            try {
+                retries.schedule(() -> RequestLimiter.relay(insert(entity, attempt + 1, retries, summary), retry, null),
+                        DEFAULT_RETRY_DELAY_MILLIS << attempt, TimeUnit.MILLISECONDS);
+            }
+            catch (RejectedExecutionException e) {
+                retry.completeExceptionally(cause);
+            }
+            return retry;
+        });
+    }
+
+    protected boolean isRetryable(Throwable throwable) {
+        return throwable instanceof OperationTimedOutException || throwable instanceof WriteTimeoutException
+                || throwable instanceof ReadTimeoutException || throwable instanceof UnavailableException;
+    }
+
+    protected void progress(Summary summary, long processed) {
+        if (processed % DEFAULT_CHUNK_SIZE == 0) {
+            progressListener.accept(summary);
+        }
+    }
+
+    protected <T> T entity(EntityInfo<T> entityInfo, String[] record) {
+        final Object[] fieldValues = new Object[record.length];
+
+        for (int i = 0; i < record.length; i++) {
+            if (record[i] != null) {
+                fieldValues[i] = parse(entityInfo.fieldClass(i), record[i]);
+            }
+        }
+
+        return entityInfo.entity(fieldValues);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Object parse(Class<?> fieldClass, String text) {
+        if (fieldClass == String.class) {
+            return text;
+        }
+        if (fieldClass == int.class || fieldClass == Integer.class) {
+            return Integer.valueOf(text);
+        }
+        if (fieldClass == long.class || fieldClass == Long.class) {
+            return Long.valueOf(text);
+        }
+        if (fieldClass == boolean.class || fieldClass == Boolean.class) {
+            return Boolean.valueOf(text);
+        }
+        if (fieldClass == double.class || fieldClass == Double.class) {
+            return Double.valueOf(text);
+        }
+        if (fieldClass == float.class || fieldClass == Float.class) {
+            return Float.valueOf(text);
+        }
+        if (fieldClass == short.class || fieldClass == Short.class) {
+            return Short.valueOf(text);
+        }
+        if (fieldClass == byte.class || fieldClass == Byte.class) {
+            return Byte.valueOf(text);
+        }
+        if (fieldClass == UUID.class) {
+            return UUID.fromString(text);
+        }
+        if (fieldClass == ByteBuffer.class) {
+            return Bytes.fromHexString(text);
+        }
+        if (fieldClass == byte[].class) {
+            return Bytes.getArray(Bytes.fromHexString(text));
+        }
+        if (fieldClass == LazyBlob.class) {
+            return LazyBlob.of(Bytes.fromHexString(text));
+        }
+        if (fieldClass == Date.class) {
+            return Date.from(Instant.parse(text));
+        }
+        if (fieldClass == Instant.class) {
+            return Instant.parse(text);
+        }
+        if (fieldClass == com.datastax.driver.core.LocalDate.class) {
+            final java.time.LocalDate date = java.time.LocalDate.parse(text);
+            return com.datastax.driver.core.LocalDate.fromYearMonthDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        }
+        if (fieldClass == BigDecimal.class) {
+            return new BigDecimal(text);
+        }
+        if (fieldClass == BigInteger.class) {
+            return new BigInteger(text);
+        }
+        if (fieldClass == InetAddress.class) {
+            try {
+                return InetAddress.getByName(text);
+            }
+            catch (UnknownHostException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        if (fieldClass.isEnum()) {
+            final Object[] constants = fieldClass.getEnumConstants();
+            return !text.isEmpty() && Character.isDigit(text.charAt(0)) ? constants[Integer.parseInt(text)] : Enum.valueOf((Class<Enum>) fieldClass, text);
+        }
+
+        throw new IllegalArgumentException("Cannot parse " + fieldClass + " from text");
+    }
+
+    protected int[] columnFields(EntityInfo<?> entityInfo, List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("There is no header in CSV file");
+        }
+
+        final int[] columnFields = new int[header.size()];
+        for (int i = 0; i < columnFields.length; i++) {
+            columnFields[i] = header.get(i) == null ? -1 : entityInfo.fieldIndex(header.get(i));
+        }
+
+        return columnFields;
+    }
+
+    protected String[] csvRecord(EntityInfo<?> entityInfo, int[] columnFields, List<String> values) {
+        if (values == null) {
+            return null;
+        }
+
+        final String[] record = new String[entityInfo.fieldsCount()];
+        for (int i = 0; i < values.size() && i < columnFields.length; i++) {
+            if (columnFields[i] >= 0) {
+                record[columnFields[i]] = values.get(i);
+            }
+        }
+
+        return record;
+    }
+
+    protected List<String> readCsv(Reader reader) throws IOException {
+        final List<String> values = new ArrayList<>();
+        final StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        int c = reader.read();
+        while (c == '\n' || c == '\r') {
+            c = reader.read();
+        }
+        if (c < 0) {
+            return null;
+        }
+
+        for (; c >= 0; c = reader.read()) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        value.append('"');
+                    }
+                    else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                }
+                else {
+                    value.append((char) c);
+                }
+            }
+            else if (c == '"') {
+                quoted = wasQuoted = true;
+            }
+            else if (c == ',') {
+                values.add(wasQuoted || value.length() > 0 ? value.toString() : null);
+                value.setLength(0);
+                wasQuoted = false;
+            }
+            else if (c == '\n') {
+                break;
+            }
+            else if (c != '\r') {
+                value.append((char) c);
+            }
+        }
+
+        values.add(wasQuoted || value.length() > 0 ? value.toString() : null);
+        return values;
+    }
+
+    protected String[] jsonRecord(EntityInfo<?> entityInfo, BufferedReader reader) throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            line = line.trim();
+        } while (line.isEmpty());
+
+        final String[] record = new String[entityInfo.fieldsCount()];
+        final int[] position = {0};
+        expect(line, position, '{');
+        skipSpaces(line, position);
+        if (line.charAt(position[0]) == '}') {
+            return record;
+        }
+
+        while (true) {
+            skipSpaces(line, position);
+            final String name = jsonString(line, position);
+            skipSpaces(line, position);
+            expect(line, position, ':');
+            skipSpaces(line, position);
+            final String value = line.charAt(position[0]) == '"' ? jsonString(line, position) : jsonLiteral(line, position);
+
+            final int fieldIndex = entityInfo.fieldIndex(name);
+            if (fieldIndex >= 0) {
+                record[fieldIndex] = value;
+            }
+
+            skipSpaces(line, position);
+            if (line.charAt(position[0]) == '}') {
+                return record;
+            }
+            expect(line, position, ',');
+        }
+    }
+
+    protected static String jsonString(String line, int[] position) {
+        expect(line, position, '"');
+        final StringBuilder value = new StringBuilder();
+
+        while (true) {
+            final char c = line.charAt(position[0]++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+
+            final char escaped = line.charAt(position[0]++);
+            switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    value.append((char) Integer.parseInt(line.substring(position[0], position[0] + 4), 16));
+                    position[0] += 4;
+                    break;
+                default:
+                    value.append(escaped);
+            }
+        }
+    }
+
+    protected static String jsonLiteral(String line, int[] position) {
+        final int start = position[0];
+        while (position[0] < line.length() && ",} \t".indexOf(line.charAt(position[0])) < 0) {
+            position[0]++;
+        }
+
+        final String literal = line.substring(start, position[0]);
+        if (literal.isEmpty() || literal.charAt(0) == '{' || literal.charAt(0) == '[') {
+            throw new IllegalArgumentException("Only flat JSON objects are supported but found " + line);
+        }
+
+        return literal.equals("null") ? null : literal;
+    }
+
+    protected static void expect(String line, int[] position, char expected) {
+        if (position[0] >= line.length() || line.charAt(position[0]) != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at " + position[0] + " of " + line);
+        }
+
+        position[0]++;
+    }
+
+    protected static void skipSpaces(String line, int[] position) {
+        while (position[0] < line.length() && Character.isWhitespace(line.charAt(position[0]))) {
+            position[0]++;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Loader{" +
+                "format=" + format +
+                ", compressed=" + compressed +
+                ", threads=" + threads +
+                ", maxInFlight=" + maxInFlight +
+                ", maxRetries=" + maxRetries +
+                '}';
+    }
+
+    public static class Summary {
+        protected final long started = System.nanoTime();
+        protected final AtomicLong records = new AtomicLong();
+        protected final AtomicLong loaded = new AtomicLong();
+        protected final AtomicLong failed = new AtomicLong();
+        protected final AtomicLong retried = new AtomicLong();
+        protected final AtomicLong processed = new AtomicLong();
+        protected final AtomicReference<Throwable> lastError = new AtomicReference<>();
+        protected volatile long finished;
+
+        protected long loaded() {
+            loaded.incrementAndGet();
+            return processed.incrementAndGet();
+        }
+
+        protected long failed(Throwable throwable) {
+            lastError.set(throwable);
+            failed.incrementAndGet();
+            return processed.incrementAndGet();
+        }
+
+        public long getRecords() {
+            return records.get();
+        }
+
+        public long getLoaded() {
+            return loaded.get();
+        }
+
+        public long getFailed() {
+            return failed.get();
+        }
+
+        public long getRetried() {
+            return retried.get();
+        }
+
+        public Throwable getLastError() {
+            return lastError.get();
+        }
+
+        public boolean isFinished() {
+            return finished != 0;
+        }
+
+        public long getElapsedMillis() {
+            return TimeUnit.NANOSECONDS.toMillis((finished != 0 ? finished : System.nanoTime()) - started);
+        }
+
+        public double getRowsPerSecond() {
+            final long elapsedNanos = (finished != 0 ? finished : System.nanoTime()) - started;
+            return elapsedNanos <= 0 ? 0 : loaded.get() * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "Summary{" +
+                    "records=" + records +
+                    ", loaded=" + loaded +
+                    ", failed=" + failed +
+                    ", retried=" + retried +
+                    ", elapsed=" + getElapsedMillis() + "ms" +
+                    ", rowsPerSecond=" + String.format("%.1f", getRowsPerSecond()) +
+                    '}';
+        }
+    }
+}
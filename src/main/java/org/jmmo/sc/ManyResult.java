@@ -0,0 +1,94 @@
+package org.jmmo.sc;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class ManyResult<T> {
+    protected final List<List<Object>> keys;
+    protected final Object[] entities;
+    protected final Throwable[] failures;
+
+    public ManyResult(List<List<Object>> keys) {
+        this.keys = keys;
+        this.entities = new Object[keys.size()];
+        this.failures = new Throwable[keys.size()];
+    }
+
+    protected void found(int index, T entity) {
+        entities[index] = entity;
+    }
+
+    protected void failed(int index, Throwable throwable) {
+        failures[index] = throwable;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    public List<List<Object>> getKeys() {
+        return Collections.unmodifiableList(keys);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<T> get(int index) {
+        return Optional.ofNullable((T) entities[index]);
+    }
+
+    public Throwable getFailure(int index) {
+        return failures[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<T> getEntities() {
+        return Collections.unmodifiableList(Arrays.asList((T[]) entities));
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<List<Object>, T> getFound() {
+        final Map<List<Object>, T> found = new LinkedHashMap<>();
+
+        for (int i = 0; i < entities.length; i++) {
+            if (entities[i] != null) {
+                found.put(keys.get(i), (T) entities[i]);
+            }
+        }
+
+        return found;
+    }
+
+    public Map<List<Object>, Throwable> getFailures() {
+        final Map<List<Object>, Throwable> failed = new LinkedHashMap<>();
+
+        for (int i = 0; i < failures.length; i++) {
+            if (failures[i] != null) {
+                failed.put(keys.get(i), failures[i]);
+            }
+        }
+
+        return failed;
+    }
+
+    public boolean hasFailures() {
+        for (Throwable failure : failures) {
+            if (failure != null) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ManyResult{" +
+                "keys=" + keys.size() +
+                ", found=" + Arrays.stream(entities).filter(entity -> entity != null).count() +
+                ", failed=" + Arrays.stream(failures).filter(failure -> failure != null).count() +
+                '}';
+    }
+}
@@ -0,0 +1,134 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class Pager<T> {
+    public static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    protected final Function<Row, T> rowMapper;
+    protected final Consumer<T> rowConsumer;
+    protected final Executor executor;
+    protected final Consumer<ResultSet> pageConsumer;
+    protected final CompletableFuture<Void> result = new CompletableFuture<>();
+    protected final AtomicInteger wip = new AtomicInteger();
+    protected volatile ResultSet resultSet;
+    protected volatile CompletableFuture<ResultSet> nextPage;
+
+    public Pager(Function<Row, T> rowMapper, Consumer<T> rowConsumer, Executor executor) {
+        this(rowMapper, rowConsumer, executor, rs -> {});
+    }
+
+    public Pager(Function<Row, T> rowMapper, Consumer<T> rowConsumer, Executor executor, Consumer<ResultSet> pageConsumer) {
+        this.rowMapper = rowMapper;
+        this.rowConsumer = rowConsumer;
+        this.executor = executor;
+        this.pageConsumer = pageConsumer;
+
+        result.whenComplete((v, throwable) -> {
+            final CompletableFuture<ResultSet> page = nextPage;
+            if (throwable != null && page != null) {
+                page.cancel(true);
+            }
+        });
+    }
+
+    public CompletableFuture<Void> collect(ResultSet resultSet) {
+        resume(resultSet);
+        return result;
+    }
+
+    public CompletableFuture<Void> collect(CompletableFuture<ResultSet> query) {
+        query.whenComplete((rs, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            }
+            else {
+                resume(rs);
+            }
+        });
+        result.whenComplete((v, throwable) -> {
+            if (result.isCancelled()) {
+                query.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    protected void resume(ResultSet resultSet) {
+        this.resultSet = resultSet;
+
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this::drain);
+            }
+            catch (Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    protected void drain() {
+        int missed = 1;
+
+        do {
+            final ResultSet rs = resultSet;
+            resultSet = null;
+
+            if (rs != null && !result.isDone()) {
+                try {
+                    consume(rs);
+                }
+                catch (Throwable throwable) {
+                    result.completeExceptionally(throwable);
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    protected void consume(ResultSet rs) {
+        final int available = rs.getAvailableWithoutFetching();
+        final CompletableFuture<ResultSet> page = rs.getExecutionInfo().getPagingState() == null ? null : Cassandra.completableFuture(rs.fetchMoreResults());
+        nextPage = page;
+
+        for (int i = 0; i < available && !result.isDone(); i++) {
+            rowConsumer.accept(rowMapper.apply(rs.one()));
+        }
+
+        if (page == null) {
+            result.complete(null);
+            return;
+        }
+
+        if (result.isDone()) {
+            page.cancel(true);
+            return;
+        }
+
+        page.whenComplete((next, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            }
+            else {
+                pageConsumer.accept(next);
+                resume(next);
+            }
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "Pager{" +
+                "rowMapper=" + rowMapper +
+                ", executor=" + executor +
+                '}';
+    }
+}
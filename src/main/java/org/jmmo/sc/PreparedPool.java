@@ -0,0 +1,114 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Session;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+public class PreparedPool {
+    protected final Session session;
+    protected final ConcurrentMap<List<Object>, CompletableFuture<PreparedStatement>> statementMap = new ConcurrentHashMap<>();
+
+    public PreparedPool(Session session) {
+        this.session = session;
+    }
+
+    public Session getSession() {
+        return session;
+    }
+
+    public <T> CompletableFuture<PreparedStatement> select(EntityInfo<T> entityInfo, int keysCount) {
+        return prepared(Arrays.asList(entityInfo.entityClass(), "select", keysCount), () -> entityInfo.selectPreparedQuery(keysCount), true);
+    }
+
+    public <T> CompletableFuture<PreparedStatement> select(EntityInfo<T> entityInfo, List<String> projectionColumns, int keysCount) {
+        return prepared(Arrays.asList(entityInfo.entityClass(), "select", projectionColumns, keysCount),
+                () -> entityInfo.selectPreparedQuery(projectionColumns, keysCount), true);
+    }
+
+    public <T> CompletableFuture<PreparedStatement> range(EntityInfo<T> entityInfo, List<String> partitionColumns, boolean bounded) {
+        return prepared(Arrays.asList(entityInfo.entityClass(), "range", partitionColumns, bounded), () -> entityInfo.rangeQuery(partitionColumns, bounded), true);
+    }
+
+    public <T> CompletableFuture<PreparedStatement> delete(EntityInfo<T> entityInfo, int keysCount) {
+        return prepared(Arrays.asList(entityInfo.entityClass(), "delete", keysCount), () -> entityInfo.deletePreparedQuery(keysCount));
+    }
+
+    public <T> CompletableFuture<PreparedStatement> insert(EntityInfo<T> entityInfo) {
+        return prepared(Arrays.asList(entityInfo.entityClass(), "insert"), entityInfo::insertPreparedQuery);
+    }
+
+    public <T> CompletableFuture<PreparedStatement> insert(EntityInfo<T> entityInfo, List<String> notKeyColumns) {
+        return prepared(Arrays.asList(entityInfo.entityClass(), "insert", notKeyColumns), () -> entityInfo.insertPreparedQuery(notKeyColumns));
+    }
+
+    public <T> CompletableFuture<PreparedStatement> update(EntityInfo<T> entityInfo) {
+        return prepared(Arrays.asList(entityInfo.entityClass(), "update"), entityInfo::updatePreparedQuery);
+    }
+
+    public CompletableFuture<PreparedStatement> prepared(List<Object> shape, Supplier<RegularStatement> statementSupplier) {
+        return prepared(shape, statementSupplier, false);
+    }
+
+    public CompletableFuture<PreparedStatement> prepared(List<Object> shape, Supplier<RegularStatement> statementSupplier, boolean idempotent) {
+        CompletableFuture<PreparedStatement> prepared = statementMap.get(shape);
+
+        if (prepared == null) {
+            final CompletableFuture<PreparedStatement> newPrepared = new CompletableFuture<>();
+            prepared = statementMap.putIfAbsent(shape, newPrepared);
+
+            if (prepared == null) {
+                prepared = newPrepared;
+
+                try {
+                    Cassandra.completableFuture(session.prepareAsync(statementSupplier.get())).whenComplete((preparedStatement, throwable) -> {
+                        if (throwable == null) {
+                            if (idempotent) {
+                                preparedStatement.setIdempotent(true);
+                            }
+                            newPrepared.complete(preparedStatement);
+                        }
+                        else {
+                            statementMap.remove(shape, newPrepared);
+                            newPrepared.completeExceptionally(throwable);
+                        }
+                    });
+                }
+                catch (RuntimeException e) {
+                    statementMap.remove(shape, newPrepared);
+                    newPrepared.completeExceptionally(e);
+                }
+            }
+        }
+
+        return prepared;
+    }
+
+    public void clear() {
+        statementMap.clear();
+    }
+
+    public static <V> V get(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
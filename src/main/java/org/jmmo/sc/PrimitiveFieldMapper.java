@@ -0,0 +1,232 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+public abstract class PrimitiveFieldMapper extends CFieldMapper {
+
+    protected PrimitiveFieldMapper(Class<?> fieldClass, MethodHandle getter, MethodHandle setter, CFieldAccessor accessor) {
+        super(fieldClass, getter, setter, accessor);
+    }
+
+    public abstract boolean accepts(DataType.Name name);
+
+    public abstract void read(Object entity, Row row, int index);
+
+    public static CFieldMapper of(Class<?> fieldClass, MethodHandle getter, MethodHandle setter, CFieldAccessor accessor) {
+        if (fieldClass == int.class) {
+            return new IntFieldMapper(getter, setter, accessor);
+        }
+        else if (fieldClass == long.class) {
+            return new LongFieldMapper(getter, setter, accessor);
+        }
+        else if (fieldClass == float.class) {
+            return new FloatFieldMapper(getter, setter, accessor);
+        }
+        else if (fieldClass == double.class) {
+            return new DoubleFieldMapper(getter, setter, accessor);
+        }
+        else if (fieldClass == boolean.class) {
+            return new BooleanFieldMapper(getter, setter, accessor);
+        }
+
+        return new CFieldMapper(fieldClass, getter, setter, accessor);
+    }
+
+    protected static MethodHandle setter(MethodHandle setter, Class<?> fieldClass) {
+        return setter.asType(MethodType.methodType(void.class, Object.class, fieldClass));
+    }
+
+    public static class IntFieldMapper extends PrimitiveFieldMapper {
+        private final MethodHandle intSetter;
+        private final EntityPool.CIntAccessorLambda intAccessor;
+
+        public IntFieldMapper(MethodHandle getter, MethodHandle setter, CFieldAccessor accessor) {
+            super(int.class, getter, setter, accessor);
+            this.intSetter = setter(setter, int.class);
+            this.intAccessor = accessor instanceof EntityPool.CIntAccessorLambda ? (EntityPool.CIntAccessorLambda) accessor : null;
+        }
+
+        @Override
+        public boolean accepts(DataType.Name name) {
+            return name == DataType.Name.INT;
+        }
+
+        @Override
+        public void read(Object entity, Row row, int index) {
+            setInt(entity, row.getInt(index));
+        }
+
+        public void setInt(Object entity, int value) {
+            if (intAccessor != null) {
+                intAccessor.setInt(entity, value);
+                return;
+            }
+
+            try {
+                intSetter.invokeExact(entity, value);
+            }
+            catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        }
+    }
+
+    public static class LongFieldMapper extends PrimitiveFieldMapper {
+        private final MethodHandle longSetter;
+        private final EntityPool.CLongAccessorLambda longAccessor;
+
+        public LongFieldMapper(MethodHandle getter, MethodHandle setter, CFieldAccessor accessor) {
+            super(long.class, getter, setter, accessor);
+            this.longSetter = setter(setter, long.class);
+            this.longAccessor = accessor instanceof EntityPool.CLongAccessorLambda ? (EntityPool.CLongAccessorLambda) accessor : null;
+        }
+
+        @Override
+        public boolean accepts(DataType.Name name) {
+            return name == DataType.Name.BIGINT || name == DataType.Name.COUNTER;
+        }
+
+        @Override
+        public void read(Object entity, Row row, int index) {
+            setLong(entity, row.getLong(index));
+        }
+
+        public void setLong(Object entity, long value) {
+            if (longAccessor != null) {
+                longAccessor.setLong(entity, value);
+                return;
+            }
+
+            try {
+                longSetter.invokeExact(entity, value);
+            }
+            catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        }
+    }
+
+    public static class FloatFieldMapper extends PrimitiveFieldMapper {
+        private final MethodHandle floatSetter;
+        private final EntityPool.CFloatAccessorLambda floatAccessor;
+
+        public FloatFieldMapper(MethodHandle getter, MethodHandle setter, CFieldAccessor accessor) {
+            super(float.class, getter, setter, accessor);
+            this.floatSetter = setter(setter, float.class);
+            this.floatAccessor = accessor instanceof EntityPool.CFloatAccessorLambda ? (EntityPool.CFloatAccessorLambda) accessor : null;
+        }
+
+        @Override
+        public boolean accepts(DataType.Name name) {
+            return name == DataType.Name.FLOAT;
+        }
+
+        @Override
+        public void read(Object entity, Row row, int index) {
+            setFloat(entity, row.getFloat(index));
+        }
+
+        public void setFloat(Object entity, float value) {
+            if (floatAccessor != null) {
+                floatAccessor.setFloat(entity, value);
+                return;
+            }
+
+            try {
+                floatSetter.invokeExact(entity, value);
+            }
+            catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        }
+    }
+
+    public static class DoubleFieldMapper extends PrimitiveFieldMapper {
+        private final MethodHandle doubleSetter;
+        private final EntityPool.CDoubleAccessorLambda doubleAccessor;
+
+        public DoubleFieldMapper(MethodHandle getter, MethodHandle setter, CFieldAccessor accessor) {
+            super(double.class, getter, setter, accessor);
+            this.doubleSetter = setter(setter, double.class);
+            this.doubleAccessor = accessor instanceof EntityPool.CDoubleAccessorLambda ? (EntityPool.CDoubleAccessorLambda) accessor : null;
+        }
+
+        @Override
+        public boolean accepts(DataType.Name name) {
+            return name == DataType.Name.DOUBLE;
+        }
+
+        @Override
+        public void read(Object entity, Row row, int index) {
+            setDouble(entity, row.getDouble(index));
+        }
+
+        public void setDouble(Object entity, double value) {
+            if (doubleAccessor != null) {
+                doubleAccessor.setDouble(entity, value);
+                return;
+            }
+
+            try {
+                doubleSetter.invokeExact(entity, value);
+            }
+            catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        }
+    }
+
+    public static class BooleanFieldMapper extends PrimitiveFieldMapper {
+        private final MethodHandle booleanSetter;
+        private final EntityPool.CBooleanAccessorLambda booleanAccessor;
+
+        public BooleanFieldMapper(MethodHandle getter, MethodHandle setter, CFieldAccessor accessor) {
+            super(boolean.class, getter, setter, accessor);
+            this.booleanSetter = setter(setter, boolean.class);
+            this.booleanAccessor = accessor instanceof EntityPool.CBooleanAccessorLambda ? (EntityPool.CBooleanAccessorLambda) accessor : null;
+        }
+
+        @Override
+        public boolean accepts(DataType.Name name) {
+            return name == DataType.Name.BOOLEAN;
+        }
+
+        @Override
+        public void read(Object entity, Row row, int index) {
+            setBoolean(entity, row.getBool(index));
+        }
+
+        public void setBoolean(Object entity, boolean value) {
+            if (booleanAccessor != null) {
+                booleanAccessor.setBoolean(entity, value);
+                return;
+            }
+
+            try {
+                booleanSetter.invokeExact(entity, value);
+            }
+            catch (Throwable throwable) {
+                throw new RuntimeException(throwable);
+            }
+        }
+    }
+
+    public interface ToFloatFunction<T> {
+
+        float applyAsFloat(T value);
+    }
+
+    public interface ObjFloatConsumer<T> {
+
+        void accept(T t, float value);
+    }
+
+    public interface ObjBooleanConsumer<T> {
+
+        void accept(T t, boolean value);
+    }
+}
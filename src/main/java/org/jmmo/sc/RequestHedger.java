@@ -0,0 +1,241 @@
+package org.jmmo.sc;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class RequestHedger {
+    public static final double DEFAULT_MAX_HEDGE_RATE = 0.05;
+    public static final double DEFAULT_MAX_HEDGE_BURST = 10;
+    public static final int DEFAULT_WINDOW = 1000;
+
+    private static final ScheduledExecutorService DEFAULT_SCHEDULER = scheduler();
+
+    private final long delayNanos;
+    private final double percentile;
+    private final double maxHedgeRate;
+    private final double maxHedgeBurst;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong wins = new AtomicLong();
+    private final AtomicLong samples = new AtomicLong();
+    private final Recorder recorder = new Recorder(HdrMetrics.DEFAULT_SIGNIFICANT_DIGITS);
+    private Histogram interval;
+    private double hedgeBudget;
+    private volatile long adaptiveDelayNanos = -1;
+
+    public RequestHedger(long delay, TimeUnit unit) {
+        this(delay, unit, 0);
+    }
+
+    public RequestHedger(long delay, TimeUnit unit, double percentile) {
+        this(delay, unit, percentile, DEFAULT_MAX_HEDGE_RATE, DEFAULT_SCHEDULER);
+    }
+
+    public RequestHedger(long delay, TimeUnit unit, double percentile, double maxHedgeRate, ScheduledExecutorService scheduler) {
+        this(delay, unit, percentile, maxHedgeRate, DEFAULT_MAX_HEDGE_BURST, scheduler);
+    }
+
+    public RequestHedger(long delay, TimeUnit unit, double percentile, double maxHedgeRate, double maxHedgeBurst, ScheduledExecutorService scheduler) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Hedge delay should not be negative but " + delay + " was specified");
+        }
+        if (percentile < 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Hedge percentile should be in [0, 100) but " + percentile + " was specified");
+        }
+        if (maxHedgeRate < 0 || maxHedgeRate > 1) {
+            throw new IllegalArgumentException("Max hedge rate should be in [0, 1] but " + maxHedgeRate + " was specified");
+        }
+        if (maxHedgeBurst < 1) {
+            throw new IllegalArgumentException("Max hedge burst should be at least 1 but " + maxHedgeBurst + " was specified");
+        }
+
+        this.delayNanos = unit.toNanos(delay);
+        this.percentile = percentile;
+        this.maxHedgeRate = maxHedgeRate;
+        this.maxHedgeBurst = maxHedgeBurst;
+        this.scheduler = scheduler;
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> request) {
+        return execute(request, won -> {});
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> request, Consumer<Boolean> hedgeListener) {
+        requests.incrementAndGet();
+        refill();
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final AtomicInteger outstanding = new AtomicInteger(1);
+        final AtomicReference<CompletableFuture<T>> hedge = new AtomicReference<>();
+        final long start = System.nanoTime();
+
+        final CompletableFuture<T> primary = request.get();
+        primary.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                sample(System.nanoTime() - start);
+            }
+            settle(result, outstanding, value, throwable);
+        });
+
+        if (result.isDone()) {
+            return result;
+        }
+
+        final ScheduledFuture<?> timer = scheduler.schedule(() -> {
+            if (result.isDone() || !permit()) {
+                return;
+            }
+
+            outstanding.incrementAndGet();
+            if (result.isDone()) {
+                return;
+            }
+
+            hedges.incrementAndGet();
+            final CompletableFuture<T> second;
+            try {
+                second = request.get();
+            }
+            catch (Throwable e) {
+                settle(result, outstanding, null, e);
+                hedgeListener.accept(false);
+                return;
+            }
+
+            hedge.set(second);
+            second.whenComplete((value, throwable) -> {
+                final boolean won = settle(result, outstanding, value, throwable);
+                if (won) {
+                    wins.incrementAndGet();
+                }
+                hedgeListener.accept(won);
+            });
+
+            if (result.isDone()) {
+                second.cancel(true);
+            }
+        }, getDelayNanos(), TimeUnit.NANOSECONDS);
+
+        result.whenComplete((value, throwable) -> {
+            timer.cancel(false);
+            primary.cancel(true);
+
+            final CompletableFuture<T> second = hedge.get();
+            if (second != null) {
+                second.cancel(true);
+            }
+        });
+
+        return result;
+    }
+
+    protected <T> boolean settle(CompletableFuture<T> result, AtomicInteger outstanding, T value, Throwable throwable) {
+        if (throwable == null) {
+            return result.complete(value);
+        }
+
+        if (outstanding.decrementAndGet() == 0) {
+            result.completeExceptionally(throwable);
+        }
+
+        return false;
+    }
+
+    protected synchronized void refill() {
+        hedgeBudget = Math.min(hedgeBudget + maxHedgeRate, maxHedgeBurst);
+    }
+
+    protected synchronized boolean permit() {
+        if (hedgeBudget < 1) {
+            return false;
+        }
+
+        hedgeBudget--;
+        return true;
+    }
+
+    protected void sample(long nanos) {
+        if (percentile == 0) {
+            return;
+        }
+
+        recorder.recordValue(Math.max(nanos, 0));
+        if (samples.incrementAndGet() % DEFAULT_WINDOW == 0) {
+            refresh();
+        }
+    }
+
+    protected synchronized void refresh() {
+        interval = recorder.getIntervalHistogram(interval);
+        adaptiveDelayNanos = interval.getValueAtPercentile(percentile);
+    }
+
+    public long getDelayNanos() {
+        final long adaptive = adaptiveDelayNanos;
+        return adaptive < 0 ? delayNanos : adaptive;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public double getMaxHedgeRate() {
+        return maxHedgeRate;
+    }
+
+    public double getMaxHedgeBurst() {
+        return maxHedgeBurst;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    public long getWins() {
+        return wins.get();
+    }
+
+    public double getHedgeRate() {
+        final long requests = this.requests.get();
+        return requests == 0 ? 0 : (double) hedges.get() / requests;
+    }
+
+    private static ScheduledExecutorService scheduler() {
+        final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            final Thread thread = new Thread(runnable, "request-hedger");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestHedger{" +
+                "delayNanos=" + getDelayNanos() +
+                ", percentile=" + percentile +
+                ", maxHedgeRate=" + maxHedgeRate +
+                ", maxHedgeBurst=" + maxHedgeBurst +
+                ", requests=" + requests +
+                ", hedges=" + hedges +
+                ", wins=" + wins +
+                '}';
+    }
+}
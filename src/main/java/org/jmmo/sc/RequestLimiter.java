@@ -0,0 +1,221 @@
+package org.jmmo.sc;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+public class RequestLimiter {
+    public enum Policy {
+        QUEUE,
+        REJECT
+    }
+
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final Policy policy;
+    private final Executor executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Queue<Queued<?>> queue = new ConcurrentLinkedQueue<>();
+
+    public RequestLimiter(int maxInFlight) {
+        this(maxInFlight, Policy.QUEUE, Integer.MAX_VALUE);
+    }
+
+    public RequestLimiter(int maxInFlight, Policy policy) {
+        this(maxInFlight, policy, Integer.MAX_VALUE);
+    }
+
+    public RequestLimiter(int maxInFlight, Policy policy, int maxQueued) {
+        this(maxInFlight, policy, maxQueued, Pager.DIRECT_EXECUTOR);
+    }
+
+    public RequestLimiter(int maxInFlight, Policy policy, int maxQueued, Executor executor) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in flight requests should be positive but " + maxInFlight + " was specified");
+        }
+
+        this.maxInFlight = maxInFlight;
+        this.policy = policy;
+        this.maxQueued = maxQueued;
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> execute(Supplier<CompletableFuture<T>> request) {
+        if (tryAcquire()) {
+            return run(request);
+        }
+
+        if (policy == Policy.REJECT || !tryEnqueue()) {
+            final CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new RejectedExecutionException("There are already " + inFlight.get() + " requests in flight and "
+                    + queued.get() + " queued"));
+            return rejected;
+        }
+
+        final Queued<T> queued = new Queued<>(request);
+        queue.add(queued);
+
+        drain();
+
+        return queued.result;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    protected <T> CompletableFuture<T> run(Supplier<CompletableFuture<T>> request) {
+        final CompletableFuture<T> future;
+        try {
+            future = request.get();
+        }
+        catch (Throwable throwable) {
+            release();
+            final CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(throwable);
+            return failed;
+        }
+
+        return relay(future, new CompletableFuture<>(), (value, throwable) -> release());
+    }
+
+    protected static <T> CompletableFuture<T> relay(CompletableFuture<T> source, CompletableFuture<T> target, BiConsumer<T, Throwable> beforeComplete) {
+        source.whenComplete((value, throwable) -> {
+            if (beforeComplete != null) {
+                beforeComplete.accept(value, throwable);
+            }
+
+            if (throwable != null) {
+                target.completeExceptionally(throwable);
+            }
+            else {
+                target.complete(value);
+            }
+        });
+        target.whenComplete((value, throwable) -> {
+            if (target.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+
+        return target;
+    }
+
+    protected boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+    protected boolean tryEnqueue() {
+        int current;
+        do {
+            current = queued.get();
+            if (current >= maxQueued) {
+                return false;
+            }
+        } while (!queued.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+    protected void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    protected void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            while (!queue.isEmpty() && tryAcquire()) {
+                final Queued<?> task = queue.poll();
+                if (task == null) {
+                    inFlight.decrementAndGet();
+                    continue;
+                }
+
+                queued.decrementAndGet();
+                dispatch(task);
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    protected void dispatch(Queued<?> task) {
+        try {
+            executor.execute(task);
+        }
+        catch (Throwable throwable) {
+            task.fail(throwable);
+        }
+    }
+
+    protected class Queued<T> implements Runnable {
+        protected final Supplier<CompletableFuture<T>> request;
+        protected final CompletableFuture<T> result = new CompletableFuture<>();
+
+        protected Queued(Supplier<CompletableFuture<T>> request) {
+            this.request = request;
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                release();
+                return;
+            }
+
+            relay(RequestLimiter.this.run(request), result, null);
+        }
+
+        protected void fail(Throwable throwable) {
+            release();
+            result.completeExceptionally(throwable);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RequestLimiter{" +
+                "maxInFlight=" + maxInFlight +
+                ", policy=" + policy +
+                ", executor=" + executor +
+                ", inFlight=" + inFlight +
+                ", queued=" + queued +
+                '}';
+    }
+}
@@ -0,0 +1,188 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public class RowPublisher<T> implements Publisher<T> {
+    private final Supplier<CompletableFuture<ResultSet>> query;
+    private final Function<Row, T> rowMapper;
+    private final Consumer<ResultSet> pageConsumer;
+
+    public RowPublisher(Supplier<CompletableFuture<ResultSet>> query, Function<Row, T> rowMapper) {
+        this(query, rowMapper, rs -> {});
+    }
+
+    public RowPublisher(Supplier<CompletableFuture<ResultSet>> query, Function<Row, T> rowMapper, Consumer<ResultSet> pageConsumer) {
+        this.query = query;
+        this.rowMapper = rowMapper;
+        this.pageConsumer = pageConsumer;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber should be specified");
+        }
+
+        final RowSubscription<T> subscription = new RowSubscription<>(subscriber, query, rowMapper, pageConsumer);
+        subscriber.onSubscribe(subscription);
+    }
+
+    @Override
+    public String toString() {
+        return "RowPublisher{" +
+                "rowMapper=" + rowMapper +
+                '}';
+    }
+
+    protected static class RowSubscription<T> implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final Supplier<CompletableFuture<ResultSet>> query;
+        private final Function<Row, T> rowMapper;
+        private final Consumer<ResultSet> pageConsumer;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean fetching;
+        private volatile ResultSet resultSet;
+        private volatile Throwable error;
+        private volatile CompletableFuture<ResultSet> pending;
+        private boolean started;
+
+        protected RowSubscription(Subscriber<? super T> subscriber, Supplier<CompletableFuture<ResultSet>> query, Function<Row, T> rowMapper,
+                                  Consumer<ResultSet> pageConsumer) {
+            this.subscriber = subscriber;
+            this.query = query;
+            this.rowMapper = rowMapper;
+            this.pageConsumer = pageConsumer;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Requested " + n + " rows but should be positive (rule 3.9)");
+            }
+            else {
+                long current;
+                do {
+                    current = requested.get();
+                } while (current != Long.MAX_VALUE && !requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+
+            final CompletableFuture<ResultSet> pendingFuture = pending;
+            if (pendingFuture != null) {
+                pendingFuture.cancel(false);
+            }
+        }
+
+        protected void fetch(CompletableFuture<ResultSet> future, boolean more) {
+            fetching = true;
+            pending = future;
+
+            future.whenComplete((rs, throwable) -> {
+                if (throwable != null) {
+                    error = throwable;
+                }
+                else {
+                    if (more) {
+                        pageConsumer.accept(rs);
+                    }
+                    resultSet = rs;
+                }
+
+                fetching = false;
+                drain();
+            });
+        }
+
+        protected void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    return;
+                }
+                if (error != null) {
+                    terminate(error);
+                    return;
+                }
+
+                if (!started) {
+                    if (requested.get() > 0) {
+                        started = true;
+                        try {
+                            fetch(query.get(), false);
+                        }
+                        catch (Throwable throwable) {
+                            terminate(throwable);
+                            return;
+                        }
+                    }
+                }
+                else if (!fetching) {
+                    final ResultSet rs = resultSet;
+
+                    final long r = requested.get();
+                    long emitted = 0;
+                    try {
+                        while (emitted != r && rs.getAvailableWithoutFetching() > 0) {
+                            if (cancelled) {
+                                return;
+                            }
+
+                            subscriber.onNext(rowMapper.apply(rs.one()));
+                            emitted++;
+                        }
+                    }
+                    catch (Throwable throwable) {
+                        terminate(throwable);
+                        return;
+                    }
+
+                    if (emitted != 0 && r != Long.MAX_VALUE) {
+                        requested.addAndGet(-emitted);
+                    }
+
+                    if (rs.getAvailableWithoutFetching() == 0) {
+                        if (rs.isFullyFetched()) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+
+                        if (requested.get() > 0 && !cancelled) {
+                            fetch(Cassandra.completableFuture(rs.fetchMoreResults()), true);
+                        }
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        protected void terminate(Throwable throwable) {
+            cancel();
+            subscriber.onError(throwable);
+        }
+    }
+}
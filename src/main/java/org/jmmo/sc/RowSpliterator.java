@@ -0,0 +1,66 @@
+package org.jmmo.sc;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+public class RowSpliterator extends Spliterators.AbstractSpliterator<Row> implements AutoCloseable {
+    protected final ResultSet resultSet;
+    protected final int threshold;
+    protected ListenableFuture<ResultSet> pending;
+    protected boolean closed;
+
+    public RowSpliterator(ResultSet resultSet, double fraction) {
+        super(Long.MAX_VALUE, ORDERED | NONNULL);
+
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Prefetch fraction should be in [0, 1] but " + fraction + " was specified");
+        }
+
+        this.resultSet = resultSet;
+        this.threshold = (int) (resultSet.getAvailableWithoutFetching() * (1 - fraction));
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Row> action) {
+        if (closed) {
+            return false;
+        }
+
+        prefetch();
+
+        final Row row = resultSet.one();
+        if (row == null) {
+            return false;
+        }
+
+        action.accept(row);
+        return true;
+    }
+
+    protected void prefetch() {
+        if ((pending == null || pending.isDone()) && !resultSet.isFullyFetched() && resultSet.getAvailableWithoutFetching() <= threshold) {
+            pending = resultSet.fetchMoreResults();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        if (pending != null && !pending.isDone()) {
+            pending.cancel(true);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RowSpliterator{" +
+                "threshold=" + threshold +
+                ", closed=" + closed +
+                '}';
+    }
+}
@@ -0,0 +1,166 @@
+package org.jmmo.sc;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+public class WriteBehind<T> implements AutoCloseable {
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 1000;
+
+    protected final EntityInfo<T> entityInfo;
+    protected final BatchWriter<T> batchWriter;
+    protected final int maxEntries;
+    protected final BiConsumer<Collection<T>, Throwable> flushListener;
+    protected final ScheduledExecutorService scheduler;
+    protected final boolean ownScheduler;
+    protected final ScheduledFuture<?> flushTask;
+    protected final Object flushLock = new Object();
+    protected final AtomicBoolean flushQueued = new AtomicBoolean();
+    protected final AtomicLong writes = new AtomicLong();
+    protected final AtomicLong coalesced = new AtomicLong();
+    protected final AtomicLong flushed = new AtomicLong();
+    protected Map<List<Object>, T> pending = new LinkedHashMap<>();
+    protected boolean closed;
+
+    public WriteBehind(Cassandra cassandra, Class<T> entityClass) {
+        this(cassandra, entityClass, DEFAULT_MAX_ENTRIES, DEFAULT_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS, (entities, throwable) -> {});
+    }
+
+    public WriteBehind(Cassandra cassandra, Class<T> entityClass, int maxEntries, long flushInterval, TimeUnit unit,
+                       BiConsumer<Collection<T>, Throwable> flushListener) {
+        this(cassandra, entityClass, maxEntries, flushInterval, unit, flushListener, null);
+    }
+
+    public WriteBehind(Cassandra cassandra, Class<T> entityClass, int maxEntries, long flushInterval, TimeUnit unit,
+                       BiConsumer<Collection<T>, Throwable> flushListener, ScheduledExecutorService scheduler) {
+        if (maxEntries < 1 || flushInterval < 1) {
+            throw new IllegalArgumentException("Write behind limits should be positive but " + maxEntries + ", " + flushInterval + " were specified");
+        }
+
+        this.entityInfo = cassandra.getEntityPoll().entityInfo(entityClass);
+        this.batchWriter = cassandra.batchWriter(entityClass);
+        this.maxEntries = maxEntries;
+        this.flushListener = flushListener;
+        this.ownScheduler = scheduler == null;
+        this.scheduler = scheduler != null ? scheduler : Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("write-behind-" + entityClass.getSimpleName() + "-%d").build());
+        this.flushTask = this.scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, unit);
+    }
+
+    public void write(T entity) {
+        final List<Object> keyValues = entityInfo.keyValues(entity);
+        final boolean full;
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Write behind of " + entityInfo.entityClass() + " is closed");
+            }
+            if (pending.put(keyValues, entity) != null) {
+                coalesced.incrementAndGet();
+            }
+            full = pending.size() >= maxEntries;
+        }
+        writes.incrementAndGet();
+
+        if (full && flushQueued.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(() -> {
+                    flushQueued.set(false);
+                    flush();
+                });
+            }
+            catch (RejectedExecutionException e) {
+                flushQueued.set(false);
+            }
+        }
+    }
+
+    public CompletableFuture<Void> flush() {
+        synchronized (flushLock) {
+            final Collection<T> entities;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return CompletableFuture.completedFuture(null);
+                }
+
+                entities = new ArrayList<>(pending.values());
+                pending = new LinkedHashMap<>();
+            }
+
+            final BatchWriter.Pending written = new BatchWriter.Pending();
+            try {
+                for (T entity : entities) {
+                    written.track(batchWriter.write(entity));
+                }
+                batchWriter.flush();
+            }
+            catch (RuntimeException e) {
+                written.failure.compareAndSet(null, e);
+            }
+            written.done();
+
+            return written.result.whenComplete((v, throwable) -> {
+                flushed.addAndGet(entities.size());
+                flushListener.accept(entities, throwable);
+            });
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flushTask.cancel(false);
+
+        try {
+            PreparedPool.get(flush());
+            batchWriter.close();
+        }
+        finally {
+            if (ownScheduler) {
+                scheduler.shutdown();
+            }
+        }
+    }
+
+    public synchronized int getPending() {
+        return pending.size();
+    }
+
+    public long getWrites() {
+        return writes.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getFlushed() {
+        return flushed.get();
+    }
+
+    @Override
+    public String toString() {
+        return "WriteBehind{" +
+                "entityInfo=" + entityInfo +
+                ", maxEntries=" + maxEntries +
+                ", writes=" + writes +
+                ", coalesced=" + coalesced +
+                ", flushed=" + flushed +
+                '}';
+    }
+}
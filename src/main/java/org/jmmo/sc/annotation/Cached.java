@@ -0,0 +1,20 @@
+package org.jmmo.sc.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface Cached {
+
+    long maximumSize() default 10_000;
+
+    long expireAfterWrite() default 60;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
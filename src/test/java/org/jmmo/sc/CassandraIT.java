@@ -1,22 +1,58 @@
 package org.jmmo.sc;
 
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.PagingState;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TokenRange;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import org.apache.cassandra.service.EmbeddedCassandraService;
 import org.hamcrest.Matchers;
 import org.jmmo.sc.annotation.Column;
+import org.jmmo.sc.annotation.Creator;
 import org.jmmo.sc.annotation.Key;
 import org.jmmo.sc.annotation.Table;
 import org.junit.BeforeClass;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.beans.Transient;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
 import java.lang.annotation.RetentionPolicy;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
@@ -28,6 +64,7 @@ public class CassandraIT {
     private static EntityPool entityPool = new EntityPool();
     private static EntityInfo<Example> entityInfo = entityPool.entityInfo(Example.class);
     private static Cassandra cassandra;
+    private static Cassandra preparedCassandra;
 
     @BeforeClass
     public static void setUpBeforeClass() throws Exception {
@@ -49,6 +86,9 @@ public class CassandraIT {
                 "  PRIMARY KEY (user_rank, user_id)\n" +
                 ")");
         cassandra.execute("truncate " + entityInfo.table());
+        cassandra.execute("CREATE TABLE IF NOT EXISTS wide_key (id bigint PRIMARY KEY, name text)");
+
+        preparedCassandra = new Cassandra(cassandra.getSession(), entityPool, true);
     }
 
     @Test(expected = IllegalArgumentException.class)
@@ -119,6 +159,75 @@ public class CassandraIT {
                 allOf(arrayWithSize(7), Matchers.arrayContainingInAnyOrder(1, userId, userName, null, 0, false, null)));
     }
 
+    @Test
+    public void test06_LambdaAccessors() throws Exception {
+        EntityInfo<Bean> beanInfo = new EntityPool(new EntityPool.CAccessorFactoryLambda()).entityInfo(Bean.class);
+        assertThat(beanInfo.fields.get("id").getAccessor(), instanceOf(EntityPool.CIntAccessorLambda.class));
+        assertThat(beanInfo.fields.get("active").getAccessor(), instanceOf(EntityPool.CBooleanAccessorLambda.class));
+        assertThat(beanInfo.fields.get("name").getAccessor(), instanceOf(EntityPool.CFieldAccessorLambda.class));
+        assertThat(beanInfo.fields.get("hidden").getAccessor(), instanceOf(EntityPool.CFieldAccessorHandles.class));
+
+        Bean bean = new Bean();
+        bean.setId(5);
+        bean.setName("bean");
+        bean.setActive(true);
+        assertThat(beanInfo.values(bean), arrayContaining(5, "bean", true, 0L));
+
+        beanInfo.fields.get("name").getAccessor().set(bean, "other");
+        assertEquals("other", bean.getName());
+
+        ((EntityPool.CIntAccessorLambda) beanInfo.fields.get("id").getAccessor()).setInt(bean, 7);
+        assertEquals(7, ((EntityPool.CIntAccessorLambda) beanInfo.fields.get("id").getAccessor()).getInt(bean));
+        ((PrimitiveFieldMapper.BooleanFieldMapper) beanInfo.fields.get("active")).setBoolean(bean, false);
+        assertFalse(bean.isActive());
+        beanInfo.fields.get("id").getAccessor().set(bean, 9);
+        assertEquals(9, beanInfo.fields.get("id").getAccessor().get(bean));
+
+        EntityInfo<Example> exampleInfo = new EntityPool(new EntityPool.CAccessorFactoryLambda()).entityInfo(Example.class);
+        assertThat(exampleInfo.values(example), arrayContaining(entityInfo.values(example)));
+    }
+
+    @Test
+    public void test08_ResolvedConverters() throws Exception {
+        assertNull(entityInfo.fieldOutputConverters[entityInfo.fieldIndexes.get("user_id")]);
+        assertNull(entityInfo.fieldOutputConverters[entityInfo.fieldIndexes.get("number")]);
+        assertNotNull(entityInfo.fieldOutputConverters[entityInfo.fieldIndexes.get("data")]);
+        assertNotNull(entityInfo.fieldOutputConverters[entityInfo.fieldIndexes.get("retention_policy")]);
+
+        List<COutputConverter> outputConverters = new ArrayList<>();
+        outputConverters.add((fieldClass, value) -> value instanceof String ? Collections.singleton(((String) value).toUpperCase()) : Collections.emptyList());
+        outputConverters.add(new EntityPool.COutputConverterEnum());
+        EntityInfo<Example> mixedInfo = new EntityPool(ProtocolVersion.NEWEST_SUPPORTED, Collections.emptyList(), outputConverters).entityInfo(Example.class);
+
+        assertThat(mixedInfo.values(example), arrayContaining(1, userId, data, "ADMIN", 2, true, RetentionPolicy.RUNTIME.ordinal()));
+
+        List<COutputConverter> handledFirst = new ArrayList<>();
+        handledFirst.add((COutputResolver) fieldClass -> fieldClass == String.class ? UnaryOperator.identity() : null);
+        handledFirst.addAll(outputConverters);
+        EntityInfo<Example> handledInfo = new EntityPool(ProtocolVersion.NEWEST_SUPPORTED, Collections.emptyList(), handledFirst).entityInfo(Example.class);
+
+        assertThat(handledInfo.values(example), arrayContaining(1, userId, data, example.getUserName(), 2, true, RetentionPolicy.RUNTIME.ordinal()));
+    }
+
+    @Test
+    public void test09_Registry() throws Exception {
+        EntityPool pool = new EntityPool();
+        List<CompletableFuture<EntityInfo<Example>>> lookups = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            lookups.add(CompletableFuture.supplyAsync(() -> pool.entityInfo(Example.class)));
+        }
+        for (CompletableFuture<EntityInfo<Example>> lookup : lookups) {
+            assertSame(pool.entityInfo(Example.class), lookup.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, pool.entityDataMap.size());
+
+        assertEquals(2, new EntityPool().register(Example.class, Bean.class).entityDataMap.size());
+
+        EntityPool packagePool = new EntityPool().registerPackage("org.jmmo.sc");
+        assertThat(packagePool.entityDataMap.keySet(), hasItems(Example.class, ImmutableExample.class));
+        assertThat(packagePool.entityDataMap.keySet(), not(hasItem(Bean.class)));
+    }
+
     @Test
     public void test11_Insert() throws Exception {
         cassandra.insert(example);
@@ -297,10 +406,1075 @@ public class CassandraIT {
         assertEquals(0, cassandra.selectAsync(Example.class, 1).get().size());
     }
 
+    @Test
+    public void test31_Prepared() throws Exception {
+        Example prepared = new Example(3, UUID.randomUUID(), "Prepared", new byte[]{4, 5}, 7, true, RetentionPolicy.SOURCE);
+        preparedCassandra.insert(prepared);
+        assertEquals(prepared, preparedCassandra.selectOne(Example.class, 3, prepared.getUserId()).get());
+        assertThat(iterable(preparedCassandra.select(Example.class, 3)), contains(prepared));
+
+        prepared.setNumber(8);
+        preparedCassandra.update(prepared);
+        assertEquals(prepared, preparedCassandra.selectOne(new Example(3, prepared.getUserId())));
+
+        UUID id = UUID.randomUUID();
+        preparedCassandra.insert(new Example(3, id, "Mike", new byte[]{3, 2, 1}, 5, true, RetentionPolicy.CLASS), "\"user_Name\"", "data");
+        Example other = preparedCassandra.selectOne(Example.class, 3, id).get();
+        assertEquals("Mike", other.getUserName());
+        assertEquals(0, other.getNumber());
+
+        preparedCassandra.delete(prepared);
+        assertEquals(1, preparedCassandra.select(Example.class, 3).count());
+    }
+
+    @Test
+    public void test32_Prepared_Async() throws Exception {
+        Example prepared = new Example(3, UUID.randomUUID(), "Prepared", new byte[]{4, 5}, 7, true, RetentionPolicy.SOURCE);
+        preparedCassandra.insertAsync(prepared).get();
+        assertEquals(prepared, preparedCassandra.selectOneAsync(Example.class, 3, prepared.getUserId()).get().get());
+        assertThat(preparedCassandra.selectAsync(Example.class, 3).get(), hasSize(2));
+
+        prepared.setNumber(8);
+        preparedCassandra.updateAsync(prepared).get();
+        assertEquals(prepared, preparedCassandra.selectOneAsync(new Example(3, prepared.getUserId())).get());
+
+        preparedCassandra.deleteAsync(Example.class, 3).get();
+        assertEquals(0, preparedCassandra.selectAsync(Example.class, 3).get().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test33_PreparedTooManyKeys() throws Exception {
+        preparedCassandra.select(Example.class, 3, UUID.randomUUID(), 3);
+    }
+
+    @Test
+    public void test34_Projection() throws Exception {
+        Example full = new Example(10, UUID.randomUUID(), "Projected", new byte[]{1, 2, 3}, 7, true, RetentionPolicy.CLASS);
+        cassandra.insert(full);
+
+        Example projected = cassandra.selectOneFields(Example.class, Arrays.asList("\"user_Name\"", "number"), 10, full.getUserId()).get();
+        assertEquals("Projected", projected.getUserName());
+        assertEquals(7, projected.getNumber());
+        assertNull(projected.getData());
+        assertNull(projected.getUserId());
+
+        List<Example> preparedProjected = preparedCassandra.selectFieldsAsync(Example.class, Arrays.asList("user_id", "data"), 10).get();
+        assertEquals(1, preparedProjected.size());
+        assertEquals(full.getUserId(), preparedProjected.get(0).getUserId());
+        assertArrayEquals(full.getData(), preparedProjected.get(0).getData());
+        assertNull(preparedProjected.get(0).getUserName());
+
+        Example refreshed = new Example(10, full.getUserId(), "Local");
+        assertSame(refreshed, preparedCassandra.selectOneFields(refreshed, "number"));
+        assertEquals(7, refreshed.getNumber());
+        assertEquals("Local", refreshed.getUserName());
+
+        assertTrue(cassandra.selectAllFields(Example.class, Collections.singletonList("number")).anyMatch(example -> example.getNumber() == 7));
+
+        try {
+            cassandra.selectFields(Example.class, Collections.singletonList("unknown"), 10);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("unknown"));
+        }
+
+        cassandra.delete(Example.class, 10);
+    }
+
+    @Test
+    public void test35_Blobs() throws Exception {
+        Example full = new Example(11, UUID.randomUUID(), "Blob", new byte[]{1, 2, 3, 4}, 0, false, RetentionPolicy.SOURCE);
+        cassandra.insert(full);
+
+        BufferBlob bufferBlob = cassandra.selectOne(BufferBlob.class, 11, full.getUserId()).get();
+        assertTrue(bufferBlob.data.isReadOnly());
+        assertEquals(ByteBuffer.wrap(full.getData()), bufferBlob.data);
+
+        LazyBlobView lazyBlob = preparedCassandra.selectOne(LazyBlobView.class, 11, full.getUserId()).get();
+        assertEquals(4, lazyBlob.data.size());
+        assertEquals(ByteBuffer.wrap(full.getData()), lazyBlob.data.buffer());
+        assertEquals(1, lazyBlob.data.stream().read());
+        assertArrayEquals(full.getData(), lazyBlob.data.bytes());
+        assertSame(lazyBlob.data.bytes(), lazyBlob.data.bytes());
+
+        LazyBlob copied = lazyBlob.data.copy();
+        assertEquals(lazyBlob.data, copied);
+        assertThat(copied.toString(), containsString("materialized=true"));
+
+        List<CInputConverter> copyingConverters = Arrays.asList(new EntityPool.CInputConverterNull(), new EntityPool.CInputConverterBytes(true),
+                new EntityPool.CInputConverterEnum());
+        Cassandra copying = new Cassandra(cassandra.getSession(), new EntityPool(ProtocolVersion.NEWEST_SUPPORTED, copyingConverters, new EntityPool().getOutputConverters()));
+        LazyBlobView copiedLazy = copying.selectOne(LazyBlobView.class, 11, full.getUserId()).get();
+        assertEquals(lazyBlob.data, copiedLazy.data);
+        assertThat(copiedLazy.data.toString(), containsString("materialized=true"));
+
+        byte[] driverArray = new byte[]{1, 2, 3};
+        assertSame(driverArray, new EntityPool.CInputConverterBytes().resolveIn(DataType.blob(), byte[].class).apply(ByteBuffer.wrap(driverArray)));
+        byte[] copiedArray = (byte[]) new EntityPool.CInputConverterBytes(true).resolveIn(DataType.blob(), byte[].class).apply(ByteBuffer.wrap(driverArray));
+        assertNotSame(driverArray, copiedArray);
+        assertArrayEquals(driverArray, copiedArray);
+
+        BufferBlob copiedBuffer = copying.selectOne(BufferBlob.class, 11, full.getUserId()).get();
+        assertTrue(copiedBuffer.data.isReadOnly());
+        assertEquals(bufferBlob.data, copiedBuffer.data);
+
+        lazyBlob.data = LazyBlob.of(new byte[]{5, 6});
+        preparedCassandra.insert(lazyBlob);
+        bufferBlob.data = ByteBuffer.wrap(new byte[]{5, 6}).asReadOnlyBuffer();
+        assertEquals(bufferBlob.data, cassandra.selectOne(bufferBlob).data);
+        assertArrayEquals(new byte[]{5, 6}, cassandra.selectOne(Example.class, 11, full.getUserId()).get().getData());
+
+        cassandra.delete(Example.class, 11);
+    }
+
+    @Test
+    public void test36_Creator() throws Exception {
+        Cassandra creators = new Cassandra(cassandra.getSession(), new EntityPool(), true);
+        UUID id = UUID.randomUUID();
+
+        ImmutableExample immutable = new ImmutableExample(13, id, "Immutable", 7);
+        creators.insert(immutable);
+        ImmutableExample selected = creators.selectOne(ImmutableExample.class, 13, id).get();
+        assertEquals(id, selected.user_id);
+        assertEquals("Immutable", selected.user_name);
+        assertEquals(7, selected.number);
+        assertEquals(1, creators.selectAllAsync(creators.getEntityPoll().entityInfo(ImmutableExample.class).selectQuery(Collections.singletonList(13)),
+                creators.getEntityPoll().entityInfo(ImmutableExample.class)).get().size());
+
+        FactoryExample factory = creators.selectOne(FactoryExample.class, 13, id).get();
+        assertTrue(factory.created);
+        assertEquals(id, factory.user_id);
+        assertEquals("Immutable", factory.user_name);
+        assertEquals("Immutable", creators.selectOneFields(FactoryExample.class, Collections.singletonList("user_Name"), 13, id).get().user_name);
+
+        cassandra.delete(Example.class, 13);
+    }
+
+    @Test
+    public void test37_SelectMany() throws Exception {
+        List<Example> examples = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            examples.add(new Example(14, UUID.randomUUID(), "Many" + i));
+            cassandra.insert(examples.get(i));
+        }
+
+        List<List<Object>> keys = examples.stream().map(example -> Arrays.<Object>asList(14, example.getUserId())).collect(Collectors.toList());
+        keys.add(2, Arrays.asList(14, UUID.randomUUID()));
+        keys.add(Arrays.asList("bad", UUID.randomUUID()));
+
+        for (Cassandra many : Arrays.asList(cassandra, preparedCassandra)) {
+            ManyResult<Example> result = many.selectMany(Example.class, keys, 2);
+            assertEquals(7, result.size());
+            assertEquals(examples.get(0), result.get(0).get());
+            assertFalse(result.get(2).isPresent());
+            assertEquals(examples.get(4), result.getEntities().get(5));
+            assertEquals(5, result.getFound().size());
+            assertEquals(examples.get(1), result.getFound().get(keys.get(1)));
+            assertTrue(result.hasFailures());
+            assertEquals(Collections.singleton(keys.get(6)), result.getFailures().keySet());
+            assertNull(result.getFailure(0));
+        }
+
+        Statement routed = cassandra.routedStatementAsync(entityInfo, keys.get(0)).get();
+        assertThat(routed, instanceOf(BoundStatement.class));
+        assertEquals(ByteBuffer.wrap(new byte[]{0, 0, 0, 14}), routed.getRoutingKey(ProtocolVersion.NEWEST_SUPPORTED, CodecRegistry.DEFAULT_INSTANCE));
+        Statement inline = cassandra.routedStatementAsync(cassandra.getEntityPoll().entityInfo(WideKey.class), Collections.singletonList(23)).get();
+        assertThat(inline, not(instanceOf(BoundStatement.class)));
+        assertNull(cassandra.execute(inline).one());
+        assertEquals(0, cassandra.selectManyAsync(Example.class, Collections.emptyList()).get().size());
+
+        cassandra.delete(Example.class, 14);
+    }
+
+    @Test
+    public void test38_Export() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            cassandra.insert(new Example(15, UUID.randomUUID(), i == 0 ? "Quoted, \"name\"" : "Export" + i, new byte[]{(byte) i}, i, true, RetentionPolicy.CLASS));
+        }
+
+        List<Exporter.Checkpoint> checkpoints = new ArrayList<>();
+        Path csv = Files.createTempFile("export", ".csv.gz");
+        Path json = Files.createTempFile("export", ".ndjson");
+        try {
+            Exporter exporter = cassandra.exporter(Exporter.Format.CSV, true, 1024, checkpoints::add);
+            long rows = exporter.export(entityInfo.selectQuery(Collections.singletonList(15)).setFetchSize(2), csv);
+            assertEquals(5, rows);
+            assertEquals(3, checkpoints.size());
+            assertTrue(checkpoints.get(2).isComplete());
+            assertEquals(5, checkpoints.get(2).getRows());
+            assertEquals(Files.size(csv), checkpoints.get(2).getOffset());
+
+            List<String> lines;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(csv)), StandardCharsets.UTF_8))) {
+                lines = reader.lines().collect(Collectors.toList());
+            }
+            assertEquals(6, lines.size());
+            assertEquals("user_rank,user_id,data,user_Name,number,enable,retention_policy", lines.get(0));
+            assertThat(lines, hasItem(endsWith(",0x00,\"Quoted, \"\"name\"\"\",0,true,1")));
+
+            Exporter.Checkpoint crashed = checkpoints.get(0);
+            Files.write(csv, new byte[]{0x1f, (byte) 0x8b, 8, 0, 42}, StandardOpenOption.APPEND);
+            assertEquals(3, exporter.export(entityInfo.selectQuery(Collections.singletonList(15)).setFetchSize(2), csv, crashed));
+            assertEquals(5, checkpoints.get(checkpoints.size() - 1).getRows());
+            List<String> resumed;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(Files.newInputStream(csv)), StandardCharsets.UTF_8))) {
+                resumed = reader.lines().collect(Collectors.toList());
+            }
+            assertEquals(lines, resumed);
+
+            assertEquals(3, cassandra.exporter(Exporter.Format.NDJSON, false).export(entityInfo.selectQuery(Collections.singletonList(15)).setFetchSize(2), json,
+                    new Exporter.Checkpoint(crashed.getRows(), 0, crashed.getPagingState())));
+            lines = Files.readAllLines(json, StandardCharsets.UTF_8);
+            assertEquals(3, lines.size());
+            assertThat(lines.get(0), startsWith("{\"user_rank\":15,\"user_id\":\""));
+            assertThat(lines.get(2), allOf(containsString("\"enable\":true"), containsString("\"retention_policy\":1}")));
+        }
+        finally {
+            Files.delete(csv);
+            Files.delete(json);
+        }
+
+        cassandra.delete(Example.class, 15);
+    }
+
+    @Test
+    public void test39_Load() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Path csv = Files.createTempFile("load", ".csv");
+        Path json = Files.createTempFile("load", ".ndjson.gz");
+        try {
+            Files.write(csv, Arrays.asList(
+                    "user_rank,user_id,user_Name,data,number,enable,retention_policy,unknown",
+                    "16," + first + ",\"Quoted, \"\"name\"\"\",0x0102,3,true,2,x",
+                    "",
+                    "16," + second + ",\"Multi",
+                    "line\",,,false,,",
+                    "16,not-uuid,Bad,,,,,"), StandardCharsets.UTF_8);
+
+            List<Loader.Summary> progress = new CopyOnWriteArrayList<>();
+            Loader.Summary summary = cassandra.loader(Exporter.Format.CSV, false, 2, 4, 1, progress::add).load(Example.class, csv);
+            assertEquals(3, summary.getRecords());
+            assertEquals(2, summary.getLoaded());
+            assertEquals(1, summary.getFailed());
+            assertThat(summary.getLastError(), instanceOf(IllegalArgumentException.class));
+            assertTrue(summary.isFinished());
+            assertSame(summary, progress.get(progress.size() - 1));
+
+            assertEquals(new Example(16, first, "Quoted, \"name\"", new byte[]{1, 2}, 3, true, RetentionPolicy.RUNTIME),
+                    cassandra.selectOne(Example.class, 16, first).get());
+            assertEquals(new Example(16, second, "Multi\nline"), cassandra.selectOne(Example.class, 16, second).get());
+
+            assertEquals(2, cassandra.exporter(Exporter.Format.NDJSON, true).export(entityInfo.selectQuery(Collections.singletonList(16)), json));
+            List<Example> exported = cassandra.select(Example.class, 16).collect(Collectors.toList());
+            cassandra.delete(Example.class, 16);
+
+            summary = cassandra.loader(Exporter.Format.NDJSON, true).load(Example.class, json);
+            assertEquals(2, summary.getLoaded());
+            assertEquals(0, summary.getFailed());
+            assertEquals(exported, cassandra.select(Example.class, 16).collect(Collectors.toList()));
+        }
+        finally {
+            Files.delete(csv);
+            Files.delete(json);
+        }
+
+        cassandra.delete(Example.class, 16);
+    }
+
+    @Test
+    public void test40_Blocking() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Blocking blocking = cassandra.blocking(executor);
+
+        List<Example> examples = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            examples.add(new Example(17, UUID.randomUUID(), "Blocking" + i));
+            blocking.insert(examples.get(i));
+        }
+
+        assertEquals(examples.get(0), blocking.selectOne(Example.class, 17, examples.get(0).getUserId()).get());
+        assertThat(blocking.select(Example.class, 17), hasSize(3));
+
+        List<Optional<Example>> each = blocking.selectEach(Example.class, Arrays.asList(
+                Arrays.asList(17, examples.get(1).getUserId()), Arrays.asList(17, UUID.randomUUID()), Arrays.asList(17, examples.get(2).getUserId())));
+        assertEquals(Arrays.asList(Optional.of(examples.get(1)), Optional.empty(), Optional.of(examples.get(2))), each);
+
+        assertEquals(Arrays.asList(3, 0), blocking.fork(Arrays.<Callable<Integer>>asList(
+                () -> blocking.select(Example.class, 17).size(), () -> blocking.select(Example.class, 18).size())));
+
+        ExecutorService singleExecutor = Executors.newSingleThreadExecutor();
+        Blocking single = cassandra.blocking(singleExecutor);
+        assertEquals(Arrays.asList(Arrays.asList(3, 0), Arrays.asList(0, 3)), single.fork(Arrays.<Callable<List<Integer>>>asList(
+                () -> single.fork(Arrays.<Callable<Integer>>asList(() -> single.select(Example.class, 17).size(), () -> single.select(Example.class, 18).size())),
+                () -> single.fork(Arrays.<Callable<Integer>>asList(() -> single.select(Example.class, 18).size(), () -> single.select(Example.class, 17).size())))));
+        singleExecutor.shutdown();
+
+        CompletableFuture<Boolean> started = new CompletableFuture<>();
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        try {
+            blocking.fork(Arrays.<Callable<Integer>>asList(
+                    () -> {
+                        started.complete(true);
+                        try {
+                            Thread.sleep(10000);
+                        }
+                        catch (InterruptedException e) {
+                            interrupted.complete(true);
+                        }
+                        return 0;
+                    },
+                    () -> {
+                        started.get(10, TimeUnit.SECONDS);
+                        throw new IllegalStateException("Fork");
+                    }));
+            fail();
+        }
+        catch (IllegalStateException e) {
+            assertEquals("Fork", e.getMessage());
+        }
+        assertTrue(interrupted.isDone());
+        assertTrue(interrupted.get());
+
+        executor.shutdown();
+        assertThat(cassandra.blocking().getExecutor(), instanceOf(ThreadPoolExecutor.class));
+        assertEquals(Blocking.DEFAULT_MAX_THREADS, ((ThreadPoolExecutor) cassandra.blocking().getExecutor()).getMaximumPoolSize());
+        assertEquals(Arrays.asList(3, 0), cassandra.blocking().fork(Arrays.<Callable<Integer>>asList(
+                () -> blocking.select(Example.class, 17).size(), () -> blocking.select(Example.class, 18).size())));
+        cassandra.delete(Example.class, 17);
+    }
+
+    @Test
+    public void test41_Publisher() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            cassandra.insert(new Example(4, UUID.randomUUID(), "Publisher" + i));
+        }
+
+        CollectingSubscriber<Example> subscriber = new CollectingSubscriber<>(1);
+        cassandra.selectAllPublisher(entityInfo.selectQuery(Collections.singletonList(4)).setFetchSize(2), entityInfo).subscribe(subscriber);
+        assertThat(subscriber.completed.get(10, TimeUnit.SECONDS), hasSize(5));
+
+        CollectingSubscriber<Example> preparedSubscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+        preparedCassandra.selectPublisher(Example.class, 4).subscribe(preparedSubscriber);
+        assertThat(preparedSubscriber.completed.get(10, TimeUnit.SECONDS), hasSize(5));
+    }
+
+    @Test
+    public void test42_PublisherCancel() throws Exception {
+        CollectingSubscriber<Example> subscriber = new CollectingSubscriber<Example>(1) {
+            @Override
+            public void onNext(Example example) {
+                items.add(example);
+                if (items.size() == 3) {
+                    subscription.cancel();
+                    completed.complete(items);
+                }
+                else {
+                    subscription.request(1);
+                }
+            }
+        };
+        cassandra.selectAllPublisher(entityInfo.selectQuery(Collections.singletonList(4)).setFetchSize(2), entityInfo).subscribe(subscriber);
+        assertThat(subscriber.completed.get(10, TimeUnit.SECONDS), hasSize(3));
+
+        Thread.sleep(100);
+        assertThat(subscriber.items, hasSize(3));
+    }
+
+    @Test
+    public void test43_Scan() throws Exception {
+        List<Example> all = cassandra.selectAll(Example.class).collect(Collectors.toList());
+        assertThat(all, not(empty()));
+
+        assertThat(cassandra.scan(Example.class).collect(Collectors.toList()), containsInAnyOrder(all.toArray()));
+        assertThat(preparedCassandra.scan(Example.class, preparedCassandra.tokenRanges(3)).collect(Collectors.toList()), containsInAnyOrder(all.toArray()));
+        try (Stream<Example> scan = cassandra.scan(Example.class, cassandra.tokenRanges(2), 1)) {
+            assertThat(scan.collect(Collectors.toList()), containsInAnyOrder(all.toArray()));
+        }
+        try (Stream<Example> scan = preparedCassandra.scan(Example.class, preparedCassandra.tokenRanges(1), 8)) {
+            assertEquals(1, scan.limit(1).count());
+        }
+        try {
+            cassandra.scan(Example.class, cassandra.tokenRanges(1), 0);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), containsString("Concurrency"));
+        }
+
+        List<Example> sequential = new CopyOnWriteArrayList<>();
+        cassandra.scanAsync(Example.class, sequential::add, 1).get(10, TimeUnit.SECONDS);
+        assertThat(sequential, containsInAnyOrder(all.toArray()));
+
+        List<TokenRange> ranges = cassandra.tokenRanges(2);
+        List<Example> scanned = new CopyOnWriteArrayList<>();
+        Set<TokenRange> completed = ConcurrentHashMap.newKeySet();
+        cassandra.scanAsync(Example.class, ranges.subList(0, ranges.size() / 2), 4, scanned::add, completed::add).get(10, TimeUnit.SECONDS);
+        assertEquals(ranges.size() / 2, completed.size());
+
+        List<TokenRange> remaining = new ArrayList<>(ranges);
+        remaining.removeAll(completed);
+        preparedCassandra.scanAsync(Example.class, remaining, 4, scanned::add, completed::add).get(10, TimeUnit.SECONDS);
+        assertEquals(ranges.size(), completed.size());
+        assertThat(scanned, containsInAnyOrder(all.toArray()));
+    }
+
+    @Test
+    public void test44_BatchWriter() throws Exception {
+        List<Example> examples = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            examples.add(new Example(5 + i % 2, UUID.randomUUID(), "Batch" + i));
+        }
+
+        try (BatchWriter<Example> writer = cassandra.batchWriter(Example.class, 3, 1024, 2)) {
+            writer.writeAll(examples.stream()).get(10, TimeUnit.SECONDS);
+        }
+        assertThat(iterable(cassandra.select(Example.class, 5)), containsInAnyOrder(examples.stream().filter(e -> e.getUserRank() == 5).toArray()));
+        assertThat(iterable(cassandra.select(Example.class, 6)), containsInAnyOrder(examples.stream().filter(e -> e.getUserRank() == 6).toArray()));
+
+        Example last = new Example(5, UUID.randomUUID(), "Last");
+        EntityInfo<Example> exampleInfo = cassandra.getEntityPoll().entityInfo(Example.class);
+        Statement routed = cassandra.routed(new BatchStatement().add(exampleInfo.insertQuery(last)), cassandra.partitionCodecs(exampleInfo),
+                Collections.singletonList(5));
+        assertNotNull(routed.getRoutingKey(ProtocolVersion.NEWEST_SUPPORTED, CodecRegistry.DEFAULT_INSTANCE));
+        assertEquals(CMetrics.BATCH, Cassandra.operation(routed));
+
+        WideKey wide = new WideKey();
+        wide.id = 23;
+        wide.name = "Wide";
+        EntityInfo<WideKey> wideInfo = cassandra.getEntityPoll().entityInfo(WideKey.class);
+        Statement unrouted = wideInfo.insertQuery(wide);
+        assertSame(unrouted, cassandra.routed(unrouted, cassandra.partitionCodecs(wideInfo), Collections.singletonList(23)));
+        try (BatchWriter<WideKey> writer = cassandra.batchWriter(WideKey.class)) {
+            writer.write(wide);
+        }
+        assertEquals("Wide", cassandra.execute("SELECT name FROM wide_key WHERE id = 23").one().getString(0));
+        cassandra.execute("DELETE FROM wide_key WHERE id = 23");
+
+        try (BatchWriter<Example> writer = preparedCassandra.batchWriter(Example.class)) {
+            CompletableFuture<ResultSet> future = writer.write(last);
+            assertFalse(future.isDone());
+            writer.flush().get(10, TimeUnit.SECONDS);
+            assertTrue(future.isDone());
+        }
+        assertEquals(last, cassandra.selectOne(Example.class, 5, last.getUserId()).get());
+
+        cassandra.delete(Example.class, 5);
+        cassandra.delete(Example.class, 6);
+    }
+
+    @Test
+    public void test45_RequestLimiter() throws Exception {
+        RequestLimiter rejecting = new RequestLimiter(1, RequestLimiter.Policy.REJECT);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> firstResult = rejecting.execute(() -> first);
+        assertTrue(catchThrowable(rejecting.execute(() -> CompletableFuture.completedFuture("second"))) instanceof RejectedExecutionException);
+        first.complete("first");
+        assertEquals("first", firstResult.get());
+        assertEquals(0, rejecting.getInFlight());
+        assertEquals("third", rejecting.execute(() -> CompletableFuture.completedFuture("third")).get());
+
+        RequestLimiter queueing = new RequestLimiter(1, RequestLimiter.Policy.QUEUE, 1);
+        CompletableFuture<String> running = new CompletableFuture<>();
+        queueing.execute(() -> running);
+        CompletableFuture<String> queued = queueing.execute(() -> CompletableFuture.completedFuture("queued"));
+        assertTrue(catchThrowable(queueing.execute(() -> CompletableFuture.completedFuture("overflow"))) instanceof RejectedExecutionException);
+        assertFalse(queued.isDone());
+        assertEquals(1, queueing.getQueued());
+        running.complete("running");
+        assertEquals("queued", queued.get(10, TimeUnit.SECONDS));
+        assertEquals(0, queueing.getInFlight());
+
+        RequestLimiter trampolined = new RequestLimiter(1);
+        CompletableFuture<Integer> blocker = new CompletableFuture<>();
+        trampolined.execute(() -> blocker);
+        List<CompletableFuture<Integer>> immediate = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            final int value = i;
+            immediate.add(trampolined.execute(() -> CompletableFuture.completedFuture(value)));
+        }
+        blocker.complete(-1);
+        assertEquals(99_999, (int) immediate.get(99_999).get(10, TimeUnit.SECONDS));
+        assertEquals(0, trampolined.getInFlight());
+        assertEquals(0, trampolined.getQueued());
+
+        ExecutorService drainer = Executors.newSingleThreadExecutor();
+        RequestLimiter executing = new RequestLimiter(1, RequestLimiter.Policy.QUEUE, Integer.MAX_VALUE, drainer);
+        CompletableFuture<String> gate = new CompletableFuture<>();
+        executing.execute(() -> gate);
+        CompletableFuture<String> thread = executing.execute(() -> CompletableFuture.completedFuture(Thread.currentThread().getName()));
+        gate.complete("gate");
+        assertNotEquals(Thread.currentThread().getName(), thread.get(10, TimeUnit.SECONDS));
+        drainer.shutdown();
+        RequestLimiter rejected = new RequestLimiter(1, RequestLimiter.Policy.QUEUE, Integer.MAX_VALUE, drainer);
+        CompletableFuture<String> held = new CompletableFuture<>();
+        rejected.execute(() -> held);
+        CompletableFuture<String> refused = rejected.execute(() -> CompletableFuture.completedFuture("refused"));
+        held.complete("held");
+        assertTrue(catchThrowable(refused) instanceof RejectedExecutionException);
+        assertEquals(0, rejected.getInFlight());
+
+        RequestLimiter limiter = new RequestLimiter(2);
+        Cassandra limited = new Cassandra(cassandra.getSession(), entityPool, true, limiter);
+        List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(limited.insertAsync(new Example(7, UUID.randomUUID(), "Limited" + i)));
+            assertTrue(limiter.getInFlight() <= 2);
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).get(10, TimeUnit.SECONDS);
+        assertEquals(20, limited.selectAsync(Example.class, 7).get(10, TimeUnit.SECONDS).size());
+        assertEquals(0, limiter.getInFlight());
+
+        RequestLimiter entityLimiter = new RequestLimiter(1);
+        limited.limit(Example.class, entityLimiter);
+        assertSame(entityLimiter, limited.getRequestLimiter(Example.class));
+        assertSame(limiter, limited.getRequestLimiter(BufferBlob.class));
+        limited.deleteAsync(Example.class, 7).get(10, TimeUnit.SECONDS);
+        assertEquals(0, entityLimiter.getInFlight());
+    }
+
+    @Test
+    public void test46_Cache() throws Exception {
+        EntityPool cachedPool = new EntityPool().cache(Example.class, 100, 1, TimeUnit.MINUTES);
+        Cassandra cached = new Cassandra(cassandra.getSession(), cachedPool);
+        EntityCache cache = cachedPool.entityInfo(Example.class).cache();
+
+        Example example = new Example(8, UUID.randomUUID(), "Cached");
+        cached.insert(example);
+        assertEquals(example, cached.selectOne(Example.class, 8, example.getUserId()).get());
+        assertEquals(example, cached.selectOne(Example.class, 8, example.getUserId()).get());
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.stats().hitCount());
+
+        cassandra.update(new Example(8, example.getUserId(), "Changed"));
+        assertEquals(example, cached.selectOneAsync(Example.class, 8, example.getUserId()).get().get());
+        assertEquals(2, cache.stats().hitCount());
+
+        Example changed = new Example(8, example.getUserId(), "Changed again");
+        cached.updateAsync(changed).get();
+        assertEquals(changed, cached.selectOne(new Example(8, example.getUserId(), null)));
+        assertEquals(2, cache.stats().missCount());
+        assertEquals(1, cached.selectAsync(Example.class, 8).get().size());
+        assertEquals(1, cache.size());
+
+        List<Object> key = cachedPool.entityInfo(Example.class).cacheKey(Arrays.asList(8, example.getUserId()));
+        assertEquals(cachedPool.entityInfo(Example.class).keyValues(changed), key);
+        long generation = cache.generation(key);
+        Row stale = cassandra.execute(cachedPool.entityInfo(Example.class).selectQuery(key)).one();
+        cached.update(new Example(8, example.getUserId(), "Raced"));
+        cache.put(key, stale, generation);
+        assertNull(cache.get(key));
+
+        Example blob = new Example(8, UUID.randomUUID(), "Blob", new byte[]{1, 2, 3}, 0, false, RetentionPolicy.SOURCE);
+        cached.insert(blob);
+        cached.selectOne(Example.class, 8, blob.getUserId()).get().getData()[0] = 9;
+        assertArrayEquals(blob.getData(), cached.selectOne(Example.class, 8, blob.getUserId()).get().getData());
+        cached.selectOneAsync(Example.class, 8, blob.getUserId()).get().get().getData()[1] = 9;
+        assertArrayEquals(blob.getData(), cached.selectOneAsync(Example.class, 8, blob.getUserId()).get().get().getData());
+        assertSame(cachedPool.entityInfo(Example.class).detached(), cachedPool.entityInfo(Example.class).detached());
+
+        cached.delete(Example.class, 8);
+        assertEquals(0, cache.size());
+        assertFalse(cached.selectOne(Example.class, 8, example.getUserId()).isPresent());
+    }
+
+    @Test
+    public void test47_WriteBehind() throws Exception {
+        List<Collection<Example>> flushes = new CopyOnWriteArrayList<>();
+        Example first = new Example(9, UUID.randomUUID(), "First");
+        Example second = new Example(9, UUID.randomUUID(), "Second");
+
+        try (WriteBehind<Example> writeBehind = cassandra.writeBehind(Example.class, 3, 1, TimeUnit.HOURS, (entities, throwable) -> {
+            assertNull(throwable);
+            flushes.add(entities);
+        })) {
+            for (int i = 0; i < 10; i++) {
+                writeBehind.write(new Example(9, first.getUserId(), "First" + i));
+            }
+            writeBehind.write(second);
+            assertEquals(9, writeBehind.getCoalesced());
+            assertEquals(2, writeBehind.getPending());
+            assertFalse(cassandra.selectOne(Example.class, 9, first.getUserId()).isPresent());
+
+            writeBehind.flush().get(10, TimeUnit.SECONDS);
+            assertEquals(1, flushes.size());
+            assertEquals(2, flushes.get(0).size());
+            assertEquals("First9", cassandra.selectOne(Example.class, 9, first.getUserId()).get().getUserName());
+            assertEquals(second, cassandra.selectOne(Example.class, 9, second.getUserId()).get());
+
+            for (int i = 0; i < 3; i++) {
+                writeBehind.write(new Example(9, UUID.randomUUID(), "Full" + i));
+            }
+            long deadline = System.currentTimeMillis() + 10000;
+            while (flushes.size() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, flushes.size());
+            assertEquals(0, writeBehind.getPending());
+
+            writeBehind.write(first);
+        }
+
+        assertEquals(3, flushes.size());
+        assertEquals(5, cassandra.select(Example.class, 9).count());
+        assertEquals(first, cassandra.selectOne(Example.class, 9, first.getUserId()).get());
+
+        WriteBehind<Example> racing = cassandra.writeBehind(Example.class, 100_000, 1, TimeUnit.HOURS, (entities, throwable) -> assertNull(throwable));
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(4);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            writers.execute(() -> {
+                started.countDown();
+                try {
+                    for (int i = 0; i < 2000; i++) {
+                        racing.write(new Example(22, UUID.randomUUID(), "Racing" + i));
+                        accepted.incrementAndGet();
+                    }
+                }
+                catch (IllegalStateException e) {
+                    assertThat(e.getMessage(), containsString("closed"));
+                }
+            });
+        }
+        started.await(10, TimeUnit.SECONDS);
+        racing.close();
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(accepted.get(), racing.getFlushed());
+        assertEquals(accepted.get(), cassandra.select(Example.class, 22).count());
+
+        cassandra.delete(Example.class, 9);
+        cassandra.delete(Example.class, 22);
+    }
+
+    @Test
+    public void test48_Metrics() throws Exception {
+        HdrMetrics metrics = new HdrMetrics();
+        EntityPool metricsPool = new EntityPool();
+        Cassandra metered = new Cassandra(cassandra.getSession(), metricsPool, false, null, metrics);
+        EntityInfo<Example> entityInfo = metricsPool.entityInfo(Example.class);
+
+        for (int i = 0; i < 3; i++) {
+            metered.insert(new Example(12, UUID.randomUUID(), "Metered" + i));
+        }
+        metered.insertAsync(new Example(12, UUID.randomUUID(), "Metered3")).get();
+        assertEquals(4, metered.selectAllAsync(entityInfo.selectQuery(Collections.singletonList(12)).setFetchSize(3), entityInfo).get().size());
+        assertEquals(4, metered.select(Example.class, 12).count());
+
+        assertEquals(3, metrics.getOperation(Example.class, CMetrics.INSERT, false).getRequests());
+        assertEquals(1, metrics.getOperation(Example.class, CMetrics.INSERT, true).getRequests());
+        assertEquals(1, metrics.getOperation(Example.class, CMetrics.SELECT, true).getRequests());
+        assertEquals(1, metrics.getOperation(Example.class, CMetrics.SELECT, false).getRequests());
+        assertEquals(0, metrics.getOperation(Example.class, CMetrics.SELECT, false).getErrors());
+        assertThat(metrics.getOperation(Example.class, CMetrics.SELECT, true).getLatency().getMaxValue(), greaterThan(0L));
+
+        HdrMetrics.Entity entity = metrics.getEntity(Example.class);
+        assertEquals(2, entity.getQueries());
+        assertEquals(3, entity.getPages());
+        assertEquals(1.5, entity.getPagesPerQuery(), 0.001);
+        assertEquals(8, entity.getRows());
+        assertEquals(8, entity.getMapping().getTotalCount());
+
+        try {
+            metered.execute("select * from missing_table");
+            fail();
+        }
+        catch (RuntimeException e) {
+            assertEquals(1, metrics.getOperation(null, CMetrics.SELECT, false).getErrors());
+        }
+
+        metered.delete(Example.class, 12);
+        assertEquals(1, metrics.getOperation(Example.class, CMetrics.DELETE, false).getRequests());
+    }
+
+    @Test
+    public void test49_Pager() throws Exception {
+        for (int i = 0; i < 30; i++) {
+            cassandra.insert(new Example(18, UUID.randomUUID(), "Pager" + i));
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "pager"));
+        List<String> threads = new CopyOnWriteArrayList<>();
+        List<Example> examples = new CopyOnWriteArrayList<>();
+        cassandra.selectAllAsync(entityInfo.selectQuery(Collections.singletonList(18)).setFetchSize(1), entityInfo, example -> {
+            threads.add(Thread.currentThread().getName());
+            examples.add(example);
+        }, executor).get(10, TimeUnit.SECONDS);
+        assertThat(examples, hasSize(30));
+        assertEquals(Collections.singleton("pager"), new HashSet<>(threads));
+
+        List<Example> collected = new ArrayList<>();
+        cassandra.collectAsync(collected::add, cassandra.execute(entityInfo.selectQuery(Collections.singletonList(18)).setFetchSize(1)), entityInfo)
+                .get(10, TimeUnit.SECONDS);
+        assertEquals(examples, collected);
+
+        CompletableFuture<CompletableFuture<Void>> holder = new CompletableFuture<>();
+        List<Example> cancelled = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> future = preparedCassandra.selectAllAsync(entityInfo.selectQuery(Collections.singletonList(18)).setFetchSize(2), entityInfo, example -> {
+            if (cancelled.add(example) && cancelled.size() == 3) {
+                holder.join().cancel(true);
+            }
+        }, executor);
+        holder.complete(future);
+        assertThat(catchThrowable(future), instanceOf(CancellationException.class));
+        executor.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        assertThat(cancelled, hasSize(3));
+
+        assertThat(catchThrowable(cassandra.selectAllAsync(entityInfo.selectQuery(Collections.singletonList(18)), entityInfo, example -> {
+            throw new IllegalStateException("Pager");
+        }, executor)), instanceOf(IllegalStateException.class));
+
+        executor.shutdown();
+        cassandra.delete(Example.class, 18);
+    }
+
+    @Test
+    public void test50_Prefetch() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            cassandra.insert(new Example(19, UUID.randomUUID(), "Prefetch" + i));
+        }
+
+        ResultSet resultSet = cassandra.execute(entityInfo.selectQuery(Collections.singletonList(19)).setFetchSize(4));
+        RowSpliterator spliterator = new RowSpliterator(resultSet, 0.5);
+        assertTrue(spliterator.tryAdvance(row -> {}));
+        assertTrue(spliterator.tryAdvance(row -> {}));
+        assertEquals(2, resultSet.getAvailableWithoutFetching());
+        assertTrue(spliterator.tryAdvance(row -> {}));
+        spliterator.pending.get(10, TimeUnit.SECONDS);
+        assertEquals(5, resultSet.getAvailableWithoutFetching());
+        spliterator.close();
+        assertFalse(spliterator.tryAdvance(row -> {}));
+
+        assertEquals(Cassandra.DEFAULT_PREFETCH_FRACTION, cassandra.getPrefetchFraction(), 0);
+        try (Stream<Example> stream = cassandra.selectAll(entityInfo.selectQuery(Collections.singletonList(19)).setFetchSize(3), entityInfo)) {
+            assertEquals(20, stream.count());
+        }
+
+        Cassandra eager = new Cassandra(cassandra.getSession(), cassandra.getEntityPoll()).prefetch(1);
+        assertThat(eager.select(Example.class, 19).collect(Collectors.toList()), hasSize(20));
+
+        try {
+            eager.prefetch(1.5);
+            fail();
+        }
+        catch (IllegalArgumentException e) {
+            assertEquals(1, eager.getPrefetchFraction(), 0);
+        }
+
+        cassandra.delete(Example.class, 19);
+    }
+
+    @Test
+    public void test51_Hedge() throws Exception {
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        ScheduledExecutorService hedgeScheduler = Executors.newSingleThreadScheduledExecutor();
+        RequestHedger hedger = new RequestHedger(0, TimeUnit.MILLISECONDS, 0, 1, hedgeScheduler);
+        Iterator<CompletableFuture<String>> attempts = Arrays.asList(slow, CompletableFuture.completedFuture("hedge")).iterator();
+        List<Boolean> wins = new CopyOnWriteArrayList<>();
+        assertEquals("hedge", hedger.execute(attempts::next, wins::add).get(10, TimeUnit.SECONDS));
+        assertThat(catchThrowable(slow), instanceOf(CancellationException.class));
+        hedgeScheduler.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        assertEquals(Collections.singletonList(true), wins);
+        assertEquals(1, hedger.getWins());
+        assertEquals(1, hedger.getHedgeRate(), 0);
+
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("Hedge"));
+        assertThat(catchThrowable(hedger.execute(() -> failed)), instanceOf(IllegalStateException.class));
+
+        RequestHedger capped = new RequestHedger(0, TimeUnit.MILLISECONDS, 0, 0, Executors.newSingleThreadScheduledExecutor());
+        CompletableFuture<String> primary = new CompletableFuture<>();
+        CompletableFuture<String> capResult = capped.execute(() -> primary);
+        Thread.sleep(100);
+        primary.complete("primary");
+        assertEquals("primary", capResult.get(10, TimeUnit.SECONDS));
+        assertEquals(0, capped.getHedges());
+
+        ScheduledExecutorService throwingScheduler = Executors.newSingleThreadScheduledExecutor();
+        RequestHedger throwing = new RequestHedger(0, TimeUnit.MILLISECONDS, 0, 1, throwingScheduler);
+        CompletableFuture<String> failing = new CompletableFuture<>();
+        AtomicInteger launches = new AtomicInteger();
+        CompletableFuture<String> throwingResult = throwing.execute(() -> {
+            if (launches.incrementAndGet() > 1) {
+                throw new IllegalStateException("Launch");
+            }
+            return failing;
+        });
+        throwingScheduler.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        assertEquals(1, throwing.getHedges());
+        failing.completeExceptionally(new IllegalArgumentException("Primary"));
+        assertThat(catchThrowable(throwingResult), instanceOf(IllegalArgumentException.class));
+
+        ScheduledExecutorService budgetScheduler = Executors.newSingleThreadScheduledExecutor();
+        RequestHedger budgeted = new RequestHedger(0, TimeUnit.MILLISECONDS, 0, 0.5, 1, budgetScheduler);
+        for (int i = 0; i < 10; i++) {
+            budgeted.execute(() -> CompletableFuture.completedFuture("fast")).get(10, TimeUnit.SECONDS);
+        }
+        List<CompletableFuture<String>> pending = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            pending.add(attempt);
+            budgeted.execute(() -> attempt);
+            budgetScheduler.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(2, budgeted.getHedges());
+        pending.forEach(attempt -> attempt.complete("slow"));
+
+        HdrMetrics metrics = new HdrMetrics();
+        EntityPool hedgePool = new EntityPool();
+        EntityInfo<Example> hedgeInfo = hedgePool.entityInfo(Example.class);
+        assertTrue(hedgeInfo.selectQuery(Collections.singletonList(20)).isIdempotent());
+        RequestHedger always = new RequestHedger(0, TimeUnit.MILLISECONDS, 0, 1, Executors.newSingleThreadScheduledExecutor());
+
+        for (Cassandra hedged : Arrays.asList(new Cassandra(cassandra.getSession(), hedgePool, false, null, metrics).hedge(always),
+                new Cassandra(cassandra.getSession(), hedgePool, true, null, metrics).hedge(always))) {
+            Example example = new Example(20, UUID.randomUUID(), "Hedge");
+            long requests = always.getRequests();
+            hedged.insert(example);
+            assertEquals(requests, always.getRequests());
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals(example, hedged.selectOneAsync(Example.class, 20, example.getUserId()).get(10, TimeUnit.SECONDS).get());
+            }
+            assertEquals(example, hedged.selectOne(Example.class, 20, example.getUserId()).get());
+            assertEquals(requests + 11, always.getRequests());
+            hedged.delete(Example.class, 20);
+        }
+
+        long deadline = System.currentTimeMillis() + 10000;
+        while (metrics.getEntity(Example.class).getHedges() < always.getHedges() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(always.getHedges(), metrics.getEntity(Example.class).getHedges());
+        assertEquals(always.getWins(), metrics.getEntity(Example.class).getHedgeWins());
+        assertEquals(0, metrics.getOperation(Example.class, CMetrics.SELECT, true).getErrors());
+        assertEquals(0, metrics.getOperation(Example.class, CMetrics.SELECT, false).getErrors());
+        assertThat(metrics.getOperation(Example.class, CMetrics.SELECT, false).getRequests(), greaterThanOrEqualTo(2L));
+    }
+
+    @Test
+    public void test52_PrimitiveMappers() throws Exception {
+        assertThat(entityInfo.fieldMappers[entityInfo.fieldIndexes.get("number")], instanceOf(PrimitiveFieldMapper.IntFieldMapper.class));
+        assertThat(entityInfo.fieldMappers[entityInfo.fieldIndexes.get("enable")], instanceOf(PrimitiveFieldMapper.BooleanFieldMapper.class));
+
+        UUID userId = UUID.randomUUID();
+        Example example = new Example(21, userId, "Primitive", new byte[]{1}, 42, true, RetentionPolicy.RUNTIME);
+        cassandra.insert(example);
+        assertEquals(example, cassandra.selectOne(Example.class, 21, userId).get());
+
+        EntityInfo<Bean> beanInfo = new EntityPool(new EntityPool.CAccessorFactoryLambda()).entityInfo(Bean.class);
+        assertThat(beanInfo.fieldMappers[beanInfo.fieldIndexes.get("id")].getAccessor(), instanceOf(EntityPool.CFieldAccessorLambda.class));
+        assertThat(beanInfo.fieldMappers[beanInfo.fieldIndexes.get("id")], instanceOf(PrimitiveFieldMapper.IntFieldMapper.class));
+        assertThat(beanInfo.fieldMappers[beanInfo.fieldIndexes.get("active")], instanceOf(PrimitiveFieldMapper.BooleanFieldMapper.class));
+
+        ResultSet resultSet = cassandra.execute(entityInfo.selectQuery(Arrays.asList(21, userId)));
+        assertTrue(Arrays.stream(entityInfo.rowPlan(resultSet.getColumnDefinitions())).filter(columnMapper -> columnMapper.primitiveMapper != null)
+                .allMatch(columnMapper -> columnMapper.fieldMapper.getFieldClass().isPrimitive()));
+        assertEquals(3, Arrays.stream(entityInfo.rowPlan(resultSet.getColumnDefinitions())).filter(columnMapper -> columnMapper.primitiveMapper != null).count());
+
+        UUID nullId = UUID.randomUUID();
+        cassandra.execute(QueryBuilder.insertInto(entityInfo.table()).value("user_rank", 21).value("user_id", nullId));
+        Example nulls = cassandra.selectOne(Example.class, 21, nullId).get();
+        assertEquals(0, nulls.number);
+        assertFalse(nulls.enable);
+        Example preparedNulls = preparedCassandra.selectOne(Example.class, 21, nullId).get();
+        assertEquals(0, preparedNulls.number);
+        assertFalse(preparedNulls.enable);
+
+        cassandra.delete(Example.class, 21);
+    }
+
+    @Test
+    public void test53_ExportRanges() throws Exception {
+        UUID empty = UUID.randomUUID();
+        cassandra.insert(new Example(24, empty, ""));
+        cassandra.insert(new Example(24, UUID.randomUUID(), "Ranged"));
+
+        List<TokenRange> ranges = cassandra.tokenRanges(4);
+        List<Exporter.Checkpoint> checkpoints = new ArrayList<>();
+        Path csv = Files.createTempFile("export", ".csv");
+        try {
+            Exporter exporter = cassandra.exporter(Exporter.Format.CSV, false, 1024, checkpoints::add);
+            long rows = exporter.export(Example.class, ranges, csv);
+            assertEquals(cassandra.scan(Example.class).count(), rows);
+            assertEquals(ranges.size(), checkpoints.size());
+            assertEquals(2, checkpoints.get(1).getRange());
+            assertFalse(checkpoints.get(ranges.size() - 2).isComplete());
+            assertTrue(checkpoints.get(ranges.size() - 1).isComplete());
+            assertEquals(rows, checkpoints.get(ranges.size() - 1).getRows());
+
+            List<String> lines = Files.readAllLines(csv, StandardCharsets.UTF_8);
+            assertEquals(rows + 1, lines.size());
+            assertThat(lines, hasItem("24," + empty + ",,\"\",0,false,"));
+
+            Exporter.Checkpoint crashed = checkpoints.get(1);
+            assertEquals(rows - crashed.getRows(), exporter.export(Example.class, ranges, csv, crashed));
+            assertEquals(lines, Files.readAllLines(csv, StandardCharsets.UTF_8));
+            assertEquals(0, exporter.export(Example.class, ranges, csv, checkpoints.get(checkpoints.size() - 1)));
+
+            cassandra.delete(Example.class, 24);
+            cassandra.loader(Exporter.Format.CSV, false).load(Example.class, csv);
+            assertEquals("", cassandra.selectOne(Example.class, 24, empty).get().getUserName());
+        }
+        finally {
+            Files.delete(csv);
+        }
+
+        cassandra.delete(Example.class, 24);
+    }
+
+    static Throwable catchThrowable(CompletableFuture<?> future) {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            return null;
+        }
+        catch (ExecutionException e) {
+            return e.getCause();
+        }
+        catch (Exception e) {
+            return e;
+        }
+    }
+
+    private static class CollectingSubscriber<T> implements Subscriber<T> {
+        final long batch;
+        final List<T> items = new CopyOnWriteArrayList<>();
+        final CompletableFuture<List<T>> completed = new CompletableFuture<>();
+        Subscription subscription;
+
+        CollectingSubscriber(long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            if (batch != Long.MAX_VALUE) {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed.complete(items);
+        }
+    }
+
     private <T> Iterable<T> iterable(Stream<T> stream) {
         return stream::iterator;
     }
 
+    public static class Bean {
+        @Key
+        private int id;
+        private String name;
+        private boolean active;
+        private long hidden;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+
+    @Table("wide_key")
+    static class WideKey {
+        @Key(1)
+        int id;
+        String name;
+    }
+
+    @Table("\"test_streaming_Cassandra\"")
+    static class BufferBlob {
+        @Key(1)
+        int user_rank;
+        @Key(2)
+        UUID user_id;
+        ByteBuffer data;
+    }
+
+    @Table("\"test_streaming_Cassandra\"")
+    static class LazyBlobView {
+        @Key(1)
+        int user_rank;
+        @Key(2)
+        UUID user_id;
+        LazyBlob data;
+    }
+
+    @Table("\"test_streaming_Cassandra\"")
+    static class ImmutableExample {
+        @Key(1)
+        final int user_rank;
+        @Key(2)
+        final UUID user_id;
+        @Column("\"user_Name\"")
+        final String user_name;
+        final int number;
+
+        ImmutableExample(int user_rank, UUID user_id, String user_name, int number) {
+            this.user_rank = user_rank;
+            this.user_id = user_id;
+            this.user_name = user_name;
+            this.number = number;
+        }
+    }
+
+    @Table("\"test_streaming_Cassandra\"")
+    static class FactoryExample {
+        @Key(1)
+        final int user_rank;
+        @Key(2)
+        final UUID user_id;
+        @Column("\"user_Name\"")
+        String user_name;
+        transient boolean created;
+
+        private FactoryExample(int user_rank, UUID user_id) {
+            this.user_rank = user_rank;
+            this.user_id = user_id;
+        }
+
+        @Creator({"user_id", "user_rank"})
+        static FactoryExample of(UUID user_id, int user_rank) {
+            final FactoryExample example = new FactoryExample(user_rank, user_id);
+            example.created = true;
+            return example;
+        }
+    }
+
     @Table("\"test_streaming_Cassandra\"")
     private static class Example {
         private byte[] data;